@@ -72,4 +72,14 @@ public class BackendFormRenderingContextImpl implements BackendFormRenderingCont
     public Map<String, Object> getAttributes() {
         return attributes;
     }
+
+    /**
+     * Drops the references to the ClassLoader, the form data and the attributes once the context is no longer
+     * available, so they can be garbage collected even if the context is still referenced.
+     */
+    protected void release() {
+        classLoader = null;
+        formData = null;
+        attributes.clear();
+    }
 }
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the registered {@link BackendFormRenderingContextImpl} by id. The store is bounded both in size and in idle
+ * time: contexts that haven't been accessed for longer than the max idle time are evicted and, if the store is full,
+ * the least recently accessed context is evicted when registering a new one. Evicted contexts are released so they
+ * don't keep the project ClassLoader reachable.
+ * Ids are unique on the store, they are based on the registration time but never repeated even if two contexts are
+ * registered in the same millisecond.
+ */
+public class BackendFormRenderingContextStore {
+
+    public static final String MAX_SIZE_PROPERTY = "org.kie.workbench.forms.renderingContext.maxSize";
+
+    public static final String MAX_IDLE_TIME_PROPERTY = "org.kie.workbench.forms.renderingContext.maxIdleTime";
+
+    static final int DEFAULT_MAX_SIZE = 100;
+
+    static final long DEFAULT_MAX_IDLE_TIME = 30 * 60 * 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(BackendFormRenderingContextStore.class);
+
+    private final Map<Long, Entry> contexts = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastId = new AtomicLong();
+
+    private final AtomicLong expiredEvictions = new AtomicLong();
+
+    private final AtomicLong sizeEvictions = new AtomicLong();
+
+    private final int maxSize;
+
+    private final long maxIdleTime;
+
+    public BackendFormRenderingContextStore() {
+        this(Integer.getInteger(MAX_SIZE_PROPERTY,
+                                DEFAULT_MAX_SIZE),
+             Long.getLong(MAX_IDLE_TIME_PROPERTY,
+                          DEFAULT_MAX_IDLE_TIME));
+    }
+
+    public BackendFormRenderingContextStore(int maxSize,
+                                            long maxIdleTime) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be greater than 0");
+        }
+        this.maxSize = maxSize;
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    /**
+     * Generates a new context id.
+     */
+    public long nextId() {
+        long now = now();
+        return lastId.updateAndGet(last -> Math.max(now,
+                                                    last + 1));
+    }
+
+    public void put(BackendFormRenderingContextImpl context) {
+        long now = now();
+
+        evictExpired(now);
+
+        contexts.put(context.getTimestamp(),
+                     new Entry(context,
+                               now));
+
+        while (contexts.size() > maxSize) {
+            evictLeastRecentlyAccessed();
+        }
+    }
+
+    public BackendFormRenderingContextImpl get(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        Entry entry = contexts.get(id);
+
+        if (entry == null) {
+            return null;
+        }
+
+        long now = now();
+
+        if (isExpired(entry,
+                      now)) {
+            if (contexts.remove(id,
+                                entry)) {
+                evicted(entry,
+                        expiredEvictions);
+            }
+            return null;
+        }
+
+        entry.lastAccess = now;
+
+        return entry.context;
+    }
+
+    public boolean remove(Long id) {
+        if (id == null) {
+            return false;
+        }
+
+        Entry entry = contexts.remove(id);
+
+        if (entry == null) {
+            return false;
+        }
+
+        entry.context.release();
+
+        return true;
+    }
+
+    public int size() {
+        return contexts.size();
+    }
+
+    /**
+     * @return The number of contexts evicted because they have been idle for longer than the max idle time.
+     */
+    public long getExpiredEvictions() {
+        return expiredEvictions.get();
+    }
+
+    /**
+     * @return The number of contexts evicted because the store was full.
+     */
+    public long getSizeEvictions() {
+        return sizeEvictions.get();
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    protected void evictExpired(long now) {
+        contexts.entrySet().removeIf(mapEntry -> {
+            if (isExpired(mapEntry.getValue(),
+                          now)) {
+                evicted(mapEntry.getValue(),
+                        expiredEvictions);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    protected void evictLeastRecentlyAccessed() {
+        Map.Entry<Long, Entry> eldest = null;
+
+        for (Map.Entry<Long, Entry> mapEntry : contexts.entrySet()) {
+            if (eldest == null || mapEntry.getValue().lastAccess < eldest.getValue().lastAccess) {
+                eldest = mapEntry;
+            }
+        }
+
+        if (eldest != null && contexts.remove(eldest.getKey(),
+                                              eldest.getValue())) {
+            evicted(eldest.getValue(),
+                    sizeEvictions);
+        }
+    }
+
+    private boolean isExpired(Entry entry,
+                              long now) {
+        return now - entry.lastAccess > maxIdleTime;
+    }
+
+    private void evicted(Entry entry,
+                         AtomicLong counter) {
+        counter.incrementAndGet();
+        entry.context.release();
+
+        logger.debug("Evicted rendering context '{}' ({} expired and {} size evictions so far)",
+                     entry.context.getTimestamp(),
+                     expiredEvictions.get(),
+                     sizeEvictions.get());
+    }
+
+    private static class Entry {
+
+        private final BackendFormRenderingContextImpl context;
+
+        private volatile long lastAccess;
+
+        Entry(BackendFormRenderingContextImpl context,
+              long lastAccess) {
+            this.context = context;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Set;
 import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.Default;
 import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
 import javax.validation.metadata.BeanDescriptor;
 import javax.validation.metadata.PropertyDescriptor;
 
@@ -26,6 +27,23 @@ public class ContextModelConstraintsExtractorImpl implements ContextModelConstra
 
     private static final Logger logger = LoggerFactory.getLogger(ContextModelConstraintsExtractorImpl.class);
 
+    /*
+     * The constraints are attached to the model Class itself, so they are read once per class and they are
+     * discarded along with the project ClassLoader that loaded it. The resulting constraints are shared by every
+     * rendering context so they must not be modified.
+     */
+    private static final ClassValue<DynamicModelConstraints> MODEL_CONSTRAINTS = new ClassValue<DynamicModelConstraints>() {
+        @Override
+        protected DynamicModelConstraints computeValue(Class<?> type) {
+            return extractModelConstraints(type);
+        }
+    };
+
+    private static class ValidatorFactoryHolder {
+
+        private static final ValidatorFactory INSTANCE = Validation.buildDefaultValidatorFactory();
+    }
+
     @Override
     public void readModelConstraints(MapModelRenderingContext clientRenderingContext,
                                      ClassLoader classLoader) {
@@ -40,7 +58,7 @@ public class ContextModelConstraintsExtractorImpl implements ContextModelConstra
             if (formDefinition.getModel() instanceof JavaModel) {
                 JavaModel javaModel = (JavaModel) formDefinition.getModel();
 
-                if (clientRenderingContext.getModelConstraints().containsKey(javaModel)) {
+                if (clientRenderingContext.getModelConstraints().containsKey(javaModel.getType())) {
                     return;
                 }
 
@@ -63,46 +81,49 @@ public class ContextModelConstraintsExtractorImpl implements ContextModelConstra
                     logger.warn("Unable to find class for type {} on any classLoader. Skipping annotation processing",
                                 javaModel.getType());
                 } else {
+                    clientRenderingContext.getModelConstraints().put(javaModel.getType(),
+                                                                     MODEL_CONSTRAINTS.get(clazz));
+                }
+            }
+        });
+    }
 
-                    BeanDescriptor descriptor = Validation.buildDefaultValidatorFactory().getValidator().getConstraintsForClass(clazz);
-
-                    Set<PropertyDescriptor> properties = descriptor.getConstrainedProperties();
-
-                    DynamicModelConstraints constraints = new DynamicModelConstraints(javaModel.getType());
+    protected static DynamicModelConstraints extractModelConstraints(Class<?> clazz) {
+        BeanDescriptor descriptor = ValidatorFactoryHolder.INSTANCE.getValidator().getConstraintsForClass(clazz);
 
-                    clientRenderingContext.getModelConstraints().put(javaModel.getType(),
-                                                                     constraints);
+        Set<PropertyDescriptor> properties = descriptor.getConstrainedProperties();
 
-                    properties.forEach(property -> {
+        DynamicModelConstraints constraints = new DynamicModelConstraints(clazz.getName());
 
-                        property.getConstraintDescriptors().forEach(constraintDescriptor -> {
+        properties.forEach(property -> {
 
-                            Map<String, Object> attributes = new HashMap<>();
+            property.getConstraintDescriptors().forEach(constraintDescriptor -> {
 
-                            constraintDescriptor.getAttributes().forEach((key, value) -> {
+                Map<String, Object> attributes = new HashMap<>();
 
-                                if (key.equals("payload") || key.equals("groups")) {
-                                    return;
-                                }
+                constraintDescriptor.getAttributes().forEach((key, value) -> {
 
-                                Object portableValue;
+                    if (key.equals("payload") || key.equals("groups")) {
+                        return;
+                    }
 
-                                if (EnvUtil.isPortableType(value.getClass())) {
-                                    portableValue = value;
-                                } else {
-                                    portableValue = value.toString();
-                                }
-                                attributes.put(key,
-                                               portableValue);
-                            });
+                    Object portableValue;
 
-                            constraints.addConstraintForField(property.getPropertyName(),
-                                                              new FieldConstraint(constraintDescriptor.getAnnotation().annotationType().getName(),
-                                                                                  attributes));
-                        });
-                    });
-                }
-            }
+                    if (EnvUtil.isPortableType(value.getClass())) {
+                        portableValue = value;
+                    } else {
+                        portableValue = value.toString();
+                    }
+                    attributes.put(key,
+                                   portableValue);
+                });
+
+                constraints.addConstraintForField(property.getPropertyName(),
+                                                  new FieldConstraint(constraintDescriptor.getAnnotation().annotationType().getName(),
+                                                                      attributes));
+            });
         });
+
+        return constraints;
     }
 }
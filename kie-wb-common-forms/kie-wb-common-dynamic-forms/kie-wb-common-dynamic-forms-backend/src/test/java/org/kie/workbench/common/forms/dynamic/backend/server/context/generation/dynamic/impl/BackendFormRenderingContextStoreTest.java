@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
+
+import java.util.HashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.forms.dynamic.service.shared.impl.MapModelRenderingContext;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class BackendFormRenderingContextStoreTest {
+
+    private static final int MAX_SIZE = 2;
+
+    private static final long MAX_IDLE_TIME = 1000;
+
+    private long now;
+
+    private BackendFormRenderingContextStore store;
+
+    @Before
+    public void initTest() {
+        now = 1000;
+
+        store = new BackendFormRenderingContextStore(MAX_SIZE,
+                                                     MAX_IDLE_TIME) {
+            @Override
+            protected long now() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    public void testIdsAreUnique() {
+        long first = store.nextId();
+        long second = store.nextId();
+
+        assertNotEquals(first,
+                        second);
+        assertTrue(second > first);
+    }
+
+    @Test
+    public void testPutGetAndRemove() {
+        BackendFormRenderingContextImpl context = newContext();
+
+        store.put(context);
+
+        assertSame(context,
+                   store.get(context.getTimestamp()));
+        assertTrue(store.remove(context.getTimestamp()));
+        assertNull(store.get(context.getTimestamp()));
+        assertFalse(store.remove(context.getTimestamp()));
+        assertNull(context.getClassLoader());
+    }
+
+    @Test
+    public void testEvictIdleContexts() {
+        BackendFormRenderingContextImpl context = newContext();
+
+        store.put(context);
+
+        now += MAX_IDLE_TIME + 1;
+
+        assertNull(store.get(context.getTimestamp()));
+        assertEquals(0,
+                     store.size());
+        assertEquals(1,
+                     store.getExpiredEvictions());
+        assertNull(context.getClassLoader());
+    }
+
+    @Test
+    public void testAccessKeepsContextsAlive() {
+        BackendFormRenderingContextImpl context = newContext();
+
+        store.put(context);
+
+        now += MAX_IDLE_TIME;
+
+        assertSame(context,
+                   store.get(context.getTimestamp()));
+
+        now += MAX_IDLE_TIME;
+
+        assertSame(context,
+                   store.get(context.getTimestamp()));
+        assertEquals(0,
+                     store.getExpiredEvictions());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyAccessedWhenFull() {
+        BackendFormRenderingContextImpl first = newContext();
+        store.put(first);
+
+        now++;
+        BackendFormRenderingContextImpl second = newContext();
+        store.put(second);
+
+        now++;
+        store.get(first.getTimestamp());
+
+        now++;
+        BackendFormRenderingContextImpl third = newContext();
+        store.put(third);
+
+        assertEquals(MAX_SIZE,
+                     store.size());
+        assertEquals(1,
+                     store.getSizeEvictions());
+        assertSame(first,
+                   store.get(first.getTimestamp()));
+        assertNull(store.get(second.getTimestamp()));
+        assertSame(third,
+                   store.get(third.getTimestamp()));
+        assertNull(second.getClassLoader());
+    }
+
+    private BackendFormRenderingContextImpl newContext() {
+        return new BackendFormRenderingContextImpl(store.nextId(),
+                                                   new MapModelRenderingContext(),
+                                                   new HashMap<>(),
+                                                   mock(ClassLoader.class));
+    }
+}
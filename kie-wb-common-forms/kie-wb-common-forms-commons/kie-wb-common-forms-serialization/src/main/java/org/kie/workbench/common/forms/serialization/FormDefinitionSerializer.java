@@ -16,6 +16,9 @@
 
 package org.kie.workbench.common.forms.serialization;
 
+import java.io.Reader;
+import java.io.Writer;
+
 import org.kie.workbench.common.forms.model.FormDefinition;
 
 public interface FormDefinitionSerializer {
@@ -23,4 +26,9 @@ public interface FormDefinitionSerializer {
     String serialize(FormDefinition form);
 
     FormDefinition deserialize(String serializedForm);
+
+    void serialize(FormDefinition form,
+                   Writer writer);
+
+    FormDefinition deserialize(Reader reader);
 }
@@ -16,6 +16,8 @@
 
 package org.kie.workbench.common.forms.serialization.impl;
 
+import java.io.Reader;
+import java.io.Writer;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
@@ -29,41 +31,42 @@ import org.kie.workbench.common.forms.serialization.FormDefinitionSerializer;
 @Dependent
 public class FormDefinitionSerializerImpl implements FormDefinitionSerializer {
 
-    private FieldSerializer fieldSerializer;
-
-    private FormModelSerializer formModelSerializer;
+    private final Gson gson;
 
     @Inject
     public FormDefinitionSerializerImpl(FieldSerializer fieldSerializer,
                                         FormModelSerializer formModelSerializer) {
-        this.fieldSerializer = fieldSerializer;
-        this.formModelSerializer = formModelSerializer;
+        // Gson instances are thread-safe, so the same one is reused by every call
+        this.gson = new GsonBuilder()
+                .registerTypeAdapter(FormModel.class,
+                                     formModelSerializer)
+                .registerTypeAdapter(FieldDefinition.class,
+                                     fieldSerializer)
+                .create();
     }
 
     @Override
     public String serialize(FormDefinition form) {
-        GsonBuilder builder = new GsonBuilder();
-        builder.registerTypeAdapter(FormModel.class,
-                                    formModelSerializer);
-        builder.registerTypeAdapter(FieldDefinition.class,
-                                    fieldSerializer);
-
-        Gson gson = builder.create();
-
         return gson.toJson(form);
     }
 
     @Override
     public FormDefinition deserialize(String serializedForm) {
-        GsonBuilder builder = new GsonBuilder();
-        builder.registerTypeAdapter(FormModel.class,
-                                    formModelSerializer);
-        builder.registerTypeAdapter(FieldDefinition.class,
-                                    fieldSerializer);
+        return gson.fromJson(serializedForm,
+                             FormDefinition.class);
+    }
 
-        Gson gson = builder.create();
+    @Override
+    public void serialize(FormDefinition form,
+                          Writer writer) {
+        gson.toJson(form,
+                    FormDefinition.class,
+                    writer);
+    }
 
-        return gson.fromJson(serializedForm,
+    @Override
+    public FormDefinition deserialize(Reader reader) {
+        return gson.fromJson(reader,
                              FormDefinition.class);
     }
 }
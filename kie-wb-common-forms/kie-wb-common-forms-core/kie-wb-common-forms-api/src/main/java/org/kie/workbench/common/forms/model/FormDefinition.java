@@ -17,8 +17,12 @@
 package org.kie.workbench.common.forms.model;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.jboss.errai.common.client.api.annotations.MapsTo;
@@ -36,6 +40,10 @@ public class FormDefinition {
 
     private LayoutTemplate layoutTemplate;
 
+    private transient FieldLookup fieldsByBinding = new FieldLookup(FieldDefinition::getBinding);
+    private transient FieldLookup fieldsByName = new FieldLookup(FieldDefinition::getName);
+    private transient FieldLookup fieldsById = new FieldLookup(FieldDefinition::getId);
+
     public FormDefinition() {
     }
 
@@ -80,15 +88,43 @@ public class FormDefinition {
     }
 
     public FieldDefinition getFieldByBinding(final String binding) {
-        return getFieldBy(field -> field.getBinding() != null && field.getBinding().equals(binding));
+        return getFieldsByBinding().get(fields,
+                                        binding);
     }
 
     public FieldDefinition getFieldByName(final String name) {
-        return getFieldBy(field -> field.getName().equals(name));
+        return getFieldsByName().get(fields,
+                                     name);
     }
 
     public FieldDefinition getFieldById(final String fieldId) {
-        return getFieldBy(field -> field.getId().equals(fieldId));
+        return getFieldsById().get(fields,
+                                   fieldId);
+    }
+
+    /*
+     * Transient fields aren't initialized by the marshallers when building instances without calling the
+     * constructor, so the lookups are created on demand.
+     */
+    private FieldLookup getFieldsByBinding() {
+        if (fieldsByBinding == null) {
+            fieldsByBinding = new FieldLookup(FieldDefinition::getBinding);
+        }
+        return fieldsByBinding;
+    }
+
+    private FieldLookup getFieldsByName() {
+        if (fieldsByName == null) {
+            fieldsByName = new FieldLookup(FieldDefinition::getName);
+        }
+        return fieldsByName;
+    }
+
+    private FieldLookup getFieldsById() {
+        if (fieldsById == null) {
+            fieldsById = new FieldLookup(FieldDefinition::getId);
+        }
+        return fieldsById;
     }
 
     protected FieldDefinition getFieldBy(Predicate<FieldDefinition> predicate) {
@@ -141,4 +177,94 @@ public class FormDefinition {
         result = ~~result;
         return result;
     }
+
+    /**
+     * Index of the form fields' positions by a field attribute. The fields list and the fields themselves can be
+     * modified at any time: a position found is checked against the current list before returning the field, and a
+     * value that isn't found is only reported as missing if the list still holds the same fields with the same
+     * attribute values the index was built from, otherwise the index is rebuilt.
+     */
+    private static class FieldLookup {
+
+        private final Function<FieldDefinition, String> key;
+
+        private volatile Index index;
+
+        FieldLookup(Function<FieldDefinition, String> key) {
+            this.key = key;
+        }
+
+        FieldDefinition get(List<FieldDefinition> fields,
+                            String value) {
+            if (value == null) {
+                return null;
+            }
+
+            Index current = index;
+            if (current != null) {
+                FieldDefinition field = current.lookup(fields,
+                                                       value);
+                if (field != null) {
+                    return field;
+                }
+                if (current.isUpToDate(fields)) {
+                    return null;
+                }
+            }
+
+            current = new Index(fields);
+            index = current;
+
+            return current.lookup(fields,
+                                  value);
+        }
+
+        private class Index {
+
+            private final FieldDefinition[] indexedFields;
+
+            private final String[] indexedKeys;
+
+            private final Map<String, Integer> positions = new HashMap<>();
+
+            Index(List<FieldDefinition> fields) {
+                indexedFields = fields.toArray(new FieldDefinition[fields.size()]);
+                indexedKeys = new String[indexedFields.length];
+                for (int i = 0; i < indexedFields.length; i++) {
+                    String fieldKey = key.apply(indexedFields[i]);
+                    indexedKeys[i] = fieldKey;
+                    if (fieldKey != null && !positions.containsKey(fieldKey)) {
+                        positions.put(fieldKey,
+                                      i);
+                    }
+                }
+            }
+
+            FieldDefinition lookup(List<FieldDefinition> fields,
+                                   String value) {
+                Integer position = positions.get(value);
+                if (position != null && position < fields.size()) {
+                    FieldDefinition field = fields.get(position);
+                    if (value.equals(key.apply(field))) {
+                        return field;
+                    }
+                }
+                return null;
+            }
+
+            boolean isUpToDate(List<FieldDefinition> fields) {
+                if (fields.size() != indexedFields.length) {
+                    return false;
+                }
+                for (int i = 0; i < indexedFields.length; i++) {
+                    FieldDefinition field = fields.get(i);
+                    if (field != indexedFields[i] || !Objects.equals(key.apply(field),
+                                                                     indexedKeys[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class FormDefinitionTest {
+
+    private FormDefinition form;
+
+    private FieldDefinition name;
+
+    private FieldDefinition address;
+
+    @Before
+    public void initTest() {
+        form = new FormDefinition();
+
+        name = newField("field_1",
+                        "name",
+                        "name");
+        address = newField("field_2",
+                           "address",
+                           "address");
+
+        form.getFields().add(name);
+        form.getFields().add(address);
+    }
+
+    @Test
+    public void testFieldFound() {
+        assertSame(name,
+                   form.getFieldByBinding("name"));
+        assertSame(address,
+                   form.getFieldByName("address"));
+        assertSame(address,
+                   form.getFieldById("field_2"));
+
+        assertSame(name,
+                   form.getFieldByBinding("name"));
+    }
+
+    @Test
+    public void testFieldNotFound() {
+        assertNull(form.getFieldByBinding("lastName"));
+        assertNull(form.getFieldByName("lastName"));
+        assertNull(form.getFieldById("field_3"));
+        assertNull(form.getFieldByBinding(null));
+
+        assertNull(form.getFieldByBinding("lastName"));
+        assertSame(name,
+                   form.getFieldByBinding("name"));
+    }
+
+    @Test
+    public void testFieldsListModified() {
+        assertNull(form.getFieldByBinding("lastName"));
+
+        FieldDefinition lastName = newField("field_3",
+                                            "lastName",
+                                            "lastName");
+        form.getFields().add(0,
+                             lastName);
+
+        assertSame(lastName,
+                   form.getFieldByBinding("lastName"));
+        assertSame(name,
+                   form.getFieldByBinding("name"));
+
+        form.getFields().remove(name);
+
+        assertNull(form.getFieldByBinding("name"));
+        assertSame(address,
+                   form.getFieldByBinding("address"));
+
+        form.getFields().set(0,
+                             name);
+
+        assertNull(form.getFieldByBinding("lastName"));
+        assertSame(name,
+                   form.getFieldByBinding("name"));
+    }
+
+    @Test
+    public void testFieldBindingChanged() {
+        assertSame(name,
+                   form.getFieldByBinding("name"));
+        assertNull(form.getFieldByBinding("firstName"));
+
+        when(name.getBinding()).thenReturn("firstName");
+
+        assertSame(name,
+                   form.getFieldByBinding("firstName"));
+        assertNull(form.getFieldByBinding("name"));
+
+        when(address.getBinding()).thenReturn("name");
+
+        assertSame(address,
+                   form.getFieldByBinding("name"));
+    }
+
+    private FieldDefinition newField(String id,
+                                     String name,
+                                     String binding) {
+        FieldDefinition field = mock(FieldDefinition.class);
+        when(field.getId()).thenReturn(id);
+        when(field.getName()).thenReturn(name);
+        when(field.getBinding()).thenReturn(binding);
+        return field;
+    }
+}
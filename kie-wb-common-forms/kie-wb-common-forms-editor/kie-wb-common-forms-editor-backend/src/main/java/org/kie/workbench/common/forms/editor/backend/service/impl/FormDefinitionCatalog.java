@@ -0,0 +1,416 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.editor.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.RenameProjectEvent;
+import org.guvnor.common.services.project.model.Project;
+import org.kie.workbench.common.forms.editor.type.FormResourceTypeDefinition;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.JavaModel;
+import org.kie.workbench.common.forms.serialization.FormDefinitionSerializer;
+import org.kie.workbench.common.services.datamodeller.util.FileHashingUtils;
+import org.kie.workbench.common.services.datamodeller.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Keeps, for each project, an index of the forms it contains (form id and model type by form path) so forms can
+ * be looked up without scanning and parsing every form in the project.
+ * The index of a project is built by scanning it the first time it's queried, then it's kept up to date by
+ * observing the changes on form files, and it's discarded when the project is deleted or renamed. Form files are
+ * compared by the MD5 digest of their content. The indexed forms are deserialized on demand and kept on a bounded cache;
+ * the cached instances are shared, so they must not be modified by the callers.
+ */
+@ApplicationScoped
+public class FormDefinitionCatalog {
+
+    static final int MAX_CACHED_FORMS = 256;
+
+    private static final Logger logger = LoggerFactory.getLogger(FormDefinitionCatalog.class);
+
+    private IOService ioService;
+
+    private FormDefinitionSerializer serializer;
+
+    private final Map<String, ProjectForms> projects = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedForm> forms = Collections.synchronizedMap(new LinkedHashMap<String, CachedForm>(16,
+                                                                                                                     0.75f,
+                                                                                                                     true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedForm> eldest) {
+            return size() > MAX_CACHED_FORMS;
+        }
+    });
+
+    public FormDefinitionCatalog() {
+        //CDI proxy
+    }
+
+    @Inject
+    public FormDefinitionCatalog(@Named("ioStrategy") IOService ioService,
+                                 FormDefinitionSerializer serializer) {
+        this.ioService = ioService;
+        this.serializer = serializer;
+    }
+
+    public List<FormDefinition> getAllForms(Path projectRoot) {
+        ProjectForms projectForms = getProjectForms(projectRoot);
+        return loadForms(projectForms,
+                         projectForms.getEntries());
+    }
+
+    public List<FormDefinition> getFormsForType(Path projectRoot,
+                                                String typeName) {
+        ProjectForms projectForms = getProjectForms(projectRoot);
+        return loadForms(projectForms,
+                         projectForms.getEntriesForType(typeName));
+    }
+
+    public FormDefinition getFormById(Path projectRoot,
+                                      String id) {
+        ProjectForms projectForms = getProjectForms(projectRoot);
+        List<FormDefinition> result = loadForms(projectForms,
+                                                projectForms.getEntriesForId(id));
+        if (result.isEmpty()) {
+            return null;
+        }
+        return result.get(0);
+    }
+
+    public void onResourceAdded(@Observes ResourceAddedEvent event) {
+        refresh(event.getPath());
+    }
+
+    public void onResourceUpdated(@Observes ResourceUpdatedEvent event) {
+        refresh(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes ResourceDeletedEvent event) {
+        refresh(event.getPath());
+    }
+
+    public void onResourceCopied(@Observes ResourceCopiedEvent event) {
+        refresh(event.getDestinationPath());
+    }
+
+    public void onResourceRenamed(@Observes ResourceRenamedEvent event) {
+        refresh(event.getPath());
+        refresh(event.getDestinationPath());
+    }
+
+    public void onBatchResourceChanges(@Observes ResourceBatchChangesEvent event) {
+        for (Path path : event.getBatch().keySet()) {
+            refresh(path);
+        }
+    }
+
+    public void onProjectDeleted(@Observes DeleteProjectEvent event) {
+        discard(event.getProject());
+    }
+
+    public void onProjectRenamed(@Observes RenameProjectEvent event) {
+        discard(event.getOldProject());
+    }
+
+    protected void discard(Project project) {
+        if (project == null || project.getRootPath() == null) {
+            return;
+        }
+        ProjectForms projectForms = projects.remove(project.getRootPath().toURI());
+        if (projectForms != null) {
+            for (FormEntry entry : projectForms.getEntries()) {
+                forms.remove(entry.path.toUri().toString());
+            }
+        }
+    }
+
+    int getCachedFormsCount() {
+        return forms.size();
+    }
+
+    protected void refresh(Path path) {
+        if (path == null || !isForm(path)) {
+            return;
+        }
+        String uri = path.toURI();
+        for (ProjectForms projectForms : projects.values()) {
+            if (projectForms.contains(uri)) {
+                org.uberfire.java.nio.file.Path nioPath = Paths.convert(path);
+                if (ioService.exists(nioPath)) {
+                    index(projectForms,
+                          nioPath);
+                } else {
+                    projectForms.remove(uri);
+                    forms.remove(uri);
+                }
+            }
+        }
+    }
+
+    protected ProjectForms getProjectForms(Path projectRoot) {
+        String rootURI = projectRoot.toURI();
+        ProjectForms projectForms = projects.get(rootURI);
+        if (projectForms == null) {
+            projectForms = scan(rootURI,
+                                Paths.convert(projectRoot));
+            ProjectForms current = projects.putIfAbsent(rootURI,
+                                                        projectForms);
+            if (current != null) {
+                projectForms = current;
+            }
+        }
+        return projectForms;
+    }
+
+    private ProjectForms scan(String rootURI,
+                              org.uberfire.java.nio.file.Path root) {
+        ProjectForms projectForms = new ProjectForms(rootURI);
+
+        Collection<FileUtils.ScanResult> results = FileUtils.getInstance().scan(ioService,
+                                                                               Collections.singletonList(root),
+                                                                               FormResourceTypeDefinition.EXTENSION,
+                                                                               true);
+        for (FileUtils.ScanResult result : results) {
+            index(projectForms,
+                  result.getFile());
+        }
+
+        return projectForms;
+    }
+
+    private FormDefinition index(ProjectForms projectForms,
+                                 org.uberfire.java.nio.file.Path formPath) {
+        String uri = formPath.toUri().toString();
+        try {
+            String content = ioService.readAllString(formPath).trim();
+            String hash = FileHashingUtils.md5Hex(content);
+
+            FormEntry entry = projectForms.get(uri);
+            CachedForm cached = forms.get(uri);
+            if (entry != null && entry.hash.equals(hash) && cached != null && cached.hash.equals(hash)) {
+                return cached.form;
+            }
+
+            FormDefinition form = serializer.deserialize(content);
+            projectForms.put(new FormEntry(formPath,
+                                           form.getId(),
+                                           getModelType(form),
+                                           hash));
+            forms.put(uri,
+                      new CachedForm(form,
+                                     hash));
+            return form;
+        } catch (Exception ex) {
+            logger.warn("Unable to generate FormDefinition for {}",
+                        formPath,
+                        ex);
+            projectForms.remove(uri);
+            forms.remove(uri);
+            return null;
+        }
+    }
+
+    private List<FormDefinition> loadForms(ProjectForms projectForms,
+                                           Collection<FormEntry> entries) {
+        List<FormDefinition> result = new ArrayList<>();
+        for (FormEntry entry : entries) {
+            FormDefinition form = loadForm(projectForms,
+                                           entry);
+            if (form != null) {
+                result.add(form);
+            }
+        }
+        return result;
+    }
+
+    private FormDefinition loadForm(ProjectForms projectForms,
+                                    FormEntry entry) {
+        String uri = entry.path.toUri().toString();
+        CachedForm cached = forms.get(uri);
+        if (cached != null && cached.hash.equals(entry.hash)) {
+            return cached.form;
+        }
+        if (!ioService.exists(entry.path)) {
+            // the form has been removed without notifying it (e.g. renamed inside a batch of changes)
+            projectForms.remove(uri);
+            return null;
+        }
+        return index(projectForms,
+                     entry.path);
+    }
+
+    private String getModelType(FormDefinition form) {
+        if (form.getModel() instanceof JavaModel) {
+            return ((JavaModel) form.getModel()).getType();
+        }
+        return null;
+    }
+
+    private boolean isForm(Path path) {
+        return path.getFileName() != null && path.getFileName().endsWith("." + FormResourceTypeDefinition.EXTENSION);
+    }
+
+    static class ProjectForms {
+
+        private final String rootURI;
+
+        private final Map<String, FormEntry> entries = new LinkedHashMap<>();
+
+        private final Map<String, Set<FormEntry>> entriesById = new HashMap<>();
+
+        private final Map<String, Set<FormEntry>> entriesByType = new HashMap<>();
+
+        ProjectForms(String rootURI) {
+            this.rootURI = rootURI.endsWith("/") ? rootURI : rootURI + "/";
+        }
+
+        boolean contains(String uri) {
+            return uri.startsWith(rootURI);
+        }
+
+        synchronized FormEntry get(String uri) {
+            return entries.get(uri);
+        }
+
+        synchronized List<FormEntry> getEntries() {
+            return new ArrayList<>(entries.values());
+        }
+
+        synchronized List<FormEntry> getEntriesForId(String id) {
+            return copy(entriesById.get(id));
+        }
+
+        synchronized List<FormEntry> getEntriesForType(String type) {
+            return copy(entriesByType.get(type));
+        }
+
+        synchronized void put(FormEntry entry) {
+            String uri = entry.path.toUri().toString();
+            remove(uri);
+            entries.put(uri,
+                        entry);
+            add(entriesById,
+                entry.id,
+                entry);
+            add(entriesByType,
+                entry.modelType,
+                entry);
+        }
+
+        synchronized void remove(String uri) {
+            FormEntry entry = entries.remove(uri);
+            if (entry != null) {
+                discard(entriesById,
+                        entry.id,
+                        entry);
+                discard(entriesByType,
+                        entry.modelType,
+                        entry);
+            }
+        }
+
+        private void add(Map<String, Set<FormEntry>> index,
+                         String key,
+                         FormEntry entry) {
+            if (key != null) {
+                index.computeIfAbsent(key,
+                                      k -> new LinkedHashSet<>()).add(entry);
+            }
+        }
+
+        private void discard(Map<String, Set<FormEntry>> index,
+                             String key,
+                             FormEntry entry) {
+            if (key != null) {
+                Set<FormEntry> keyEntries = index.get(key);
+                if (keyEntries != null) {
+                    keyEntries.remove(entry);
+                    if (keyEntries.isEmpty()) {
+                        index.remove(key);
+                    }
+                }
+            }
+        }
+
+        private List<FormEntry> copy(Set<FormEntry> keyEntries) {
+            if (keyEntries == null) {
+                return Collections.emptyList();
+            }
+            return new ArrayList<>(keyEntries);
+        }
+    }
+
+    static class FormEntry {
+
+        private final org.uberfire.java.nio.file.Path path;
+
+        private final String id;
+
+        private final String modelType;
+
+        private final String hash;
+
+        FormEntry(org.uberfire.java.nio.file.Path path,
+                  String id,
+                  String modelType,
+                  String hash) {
+            this.path = path;
+            this.id = id;
+            this.modelType = modelType;
+            this.hash = hash;
+        }
+    }
+
+    private static class CachedForm {
+
+        private final FormDefinition form;
+
+        private final String hash;
+
+        CachedForm(FormDefinition form,
+                   String hash) {
+            this.form = form;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.editor.backend.service.impl;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.RenameProjectEvent;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.PortableJavaModel;
+import org.kie.workbench.common.forms.serialization.FormDefinitionSerializer;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.io.impl.IOServiceDotFileImpl;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FormDefinitionCatalogTest {
+
+    private static final String PERSON_TYPE = "org.test.Person";
+
+    private static final String ADDRESS_TYPE = "org.test.Address";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final SimpleFileSystemProvider fs = new SimpleFileSystemProvider();
+
+    private final IOService ioService = new IOServiceDotFileImpl();
+
+    @Mock
+    private FormDefinitionSerializer serializer;
+
+    @Mock
+    private Project project;
+
+    private org.uberfire.java.nio.file.Path nioRoot;
+
+    private Path root;
+
+    private FormDefinitionCatalog catalog;
+
+    @Before
+    public void setup() throws Exception {
+        fs.forceAsDefault();
+
+        nioRoot = fs.getPath(folder.newFolder("project").toURI());
+        root = Paths.convert(nioRoot);
+        when(project.getRootPath()).thenReturn(root);
+
+        // serialized forms are "<id>:<model type>"
+        when(serializer.deserialize(anyString())).thenAnswer(invocation -> {
+            String[] content = ((String) invocation.getArguments()[0]).split(":");
+            FormDefinition form = new FormDefinition(new PortableJavaModel(content[1]));
+            form.setId(content[0]);
+            return form;
+        });
+
+        writeForm("src/main/resources/org/test/Person.frm",
+                  "person",
+                  PERSON_TYPE);
+        writeForm("src/main/resources/org/test/PersonShort.frm",
+                  "personShort",
+                  PERSON_TYPE);
+        writeForm("src/main/resources/org/test/address/Address.frm",
+                  "address",
+                  ADDRESS_TYPE);
+
+        catalog = new FormDefinitionCatalog(ioService,
+                                            serializer);
+    }
+
+    @Test
+    public void testFirstScan() {
+        assertEquals(3,
+                     catalog.getAllForms(root).size());
+        assertDeserializations(3);
+
+        assertEquals(3,
+                     catalog.getAllForms(root).size());
+        assertDeserializations(3);
+    }
+
+    @Test
+    public void testGetFormById() {
+        assertEquals(PERSON_TYPE,
+                     getModelType(catalog.getFormById(root,
+                                                      "personShort")));
+        assertEquals(ADDRESS_TYPE,
+                     getModelType(catalog.getFormById(root,
+                                                      "address")));
+        assertNull(catalog.getFormById(root,
+                                       "company"));
+        assertDeserializations(3);
+    }
+
+    @Test
+    public void testGetFormsForType() {
+        assertIds(catalog.getFormsForType(root,
+                                          PERSON_TYPE),
+                  "person",
+                  "personShort");
+        assertIds(catalog.getFormsForType(root,
+                                          ADDRESS_TYPE),
+                  "address");
+        assertTrue(catalog.getFormsForType(root,
+                                           "org.test.Company").isEmpty());
+        assertDeserializations(3);
+    }
+
+    @Test
+    public void testFormAdded() {
+        catalog.getAllForms(root);
+
+        Path path = writeForm("src/main/resources/org/test/Company.frm",
+                              "company",
+                              "org.test.Company");
+        ResourceAddedEvent event = mock(ResourceAddedEvent.class);
+        when(event.getPath()).thenReturn(path);
+        catalog.onResourceAdded(event);
+
+        assertNotNull(catalog.getFormById(root,
+                                          "company"));
+        assertEquals(4,
+                     catalog.getAllForms(root).size());
+        assertDeserializations(4);
+    }
+
+    @Test
+    public void testFormUpdated() {
+        catalog.getAllForms(root);
+
+        Path path = writeForm("src/main/resources/org/test/PersonShort.frm",
+                              "personShort",
+                              ADDRESS_TYPE);
+        ResourceUpdatedEvent event = mock(ResourceUpdatedEvent.class);
+        when(event.getPath()).thenReturn(path);
+        catalog.onResourceUpdated(event);
+
+        assertIds(catalog.getFormsForType(root,
+                                          PERSON_TYPE),
+                  "person");
+        assertIds(catalog.getFormsForType(root,
+                                          ADDRESS_TYPE),
+                  "address",
+                  "personShort");
+        assertDeserializations(4);
+    }
+
+    @Test
+    public void testUnchangedFormUpdatedIsNotParsed() {
+        catalog.getAllForms(root);
+
+        Path path = writeForm("src/main/resources/org/test/Person.frm",
+                              "person",
+                              PERSON_TYPE);
+        ResourceUpdatedEvent event = mock(ResourceUpdatedEvent.class);
+        when(event.getPath()).thenReturn(path);
+        catalog.onResourceUpdated(event);
+
+        assertDeserializations(3);
+    }
+
+    @Test
+    public void testFormDeleted() {
+        catalog.getAllForms(root);
+
+        Path path = deleteForm("src/main/resources/org/test/Person.frm");
+        ResourceDeletedEvent event = mock(ResourceDeletedEvent.class);
+        when(event.getPath()).thenReturn(path);
+        catalog.onResourceDeleted(event);
+
+        assertNull(catalog.getFormById(root,
+                                       "person"));
+        assertIds(catalog.getFormsForType(root,
+                                          PERSON_TYPE),
+                  "personShort");
+        assertEquals(2,
+                     catalog.getCachedFormsCount());
+    }
+
+    @Test
+    public void testFormDeletedWithoutEvent() {
+        catalog.getAllForms(root);
+
+        deleteForm("src/main/resources/org/test/address/Address.frm");
+        // forms that are cached are served from the cache, the missing file is found when it's loaded again
+        fillCache();
+
+        assertNull(catalog.getFormById(root,
+                                       "address"));
+        assertEquals(2,
+                     catalog.getAllForms(root).size());
+    }
+
+    @Test
+    public void testFormRenamed() {
+        catalog.getAllForms(root);
+
+        Path source = deleteForm("src/main/resources/org/test/PersonShort.frm");
+        Path destination = writeForm("src/main/resources/org/test/PersonSummary.frm",
+                                     "personShort",
+                                     PERSON_TYPE);
+        ResourceRenamedEvent event = mock(ResourceRenamedEvent.class);
+        when(event.getPath()).thenReturn(source);
+        when(event.getDestinationPath()).thenReturn(destination);
+        catalog.onResourceRenamed(event);
+
+        assertEquals(3,
+                     catalog.getAllForms(root).size());
+        assertIds(catalog.getFormsForType(root,
+                                          PERSON_TYPE),
+                  "person",
+                  "personShort");
+        assertEquals(3,
+                     catalog.getCachedFormsCount());
+    }
+
+    @Test
+    public void testFormCopied() {
+        catalog.getAllForms(root);
+
+        Path source = Paths.convert(nioRoot.resolve("src/main/resources/org/test/Person.frm"));
+        Path destination = writeForm("src/main/resources/org/test/PersonCopy.frm",
+                                     "personCopy",
+                                     PERSON_TYPE);
+        ResourceCopiedEvent event = mock(ResourceCopiedEvent.class);
+        when(event.getPath()).thenReturn(source);
+        when(event.getDestinationPath()).thenReturn(destination);
+        catalog.onResourceCopied(event);
+
+        assertIds(catalog.getFormsForType(root,
+                                          PERSON_TYPE),
+                  "person",
+                  "personShort",
+                  "personCopy");
+    }
+
+    @Test
+    public void testBatchChanges() {
+        catalog.getAllForms(root);
+
+        Path added = writeForm("src/main/resources/org/test/Company.frm",
+                               "company",
+                               "org.test.Company");
+        Path updated = writeForm("src/main/resources/org/test/Person.frm",
+                                 "person",
+                                 ADDRESS_TYPE);
+        Path deleted = deleteForm("src/main/resources/org/test/address/Address.frm");
+
+        Map<Path, Collection<ResourceChange>> batch = new HashMap<>();
+        batch.put(added,
+                  Collections.emptyList());
+        batch.put(updated,
+                  Collections.emptyList());
+        batch.put(deleted,
+                  Collections.emptyList());
+        ResourceBatchChangesEvent event = mock(ResourceBatchChangesEvent.class);
+        when(event.getBatch()).thenReturn(batch);
+        catalog.onBatchResourceChanges(event);
+
+        assertNotNull(catalog.getFormById(root,
+                                          "company"));
+        assertIds(catalog.getFormsForType(root,
+                                          ADDRESS_TYPE),
+                  "person");
+        assertNull(catalog.getFormById(root,
+                                       "address"));
+    }
+
+    @Test
+    public void testNonFormChangesAreIgnored() {
+        catalog.getAllForms(root);
+
+        ResourceUpdatedEvent event = mock(ResourceUpdatedEvent.class);
+        when(event.getPath()).thenReturn(Paths.convert(nioRoot.resolve("pom.xml")));
+        catalog.onResourceUpdated(event);
+
+        assertDeserializations(3);
+    }
+
+    @Test
+    public void testProjectDeleted() {
+        catalog.getAllForms(root);
+
+        DeleteProjectEvent event = mock(DeleteProjectEvent.class);
+        when(event.getProject()).thenReturn(project);
+        catalog.onProjectDeleted(event);
+
+        assertEquals(0,
+                     catalog.getCachedFormsCount());
+
+        // the project is scanned again if it's queried
+        assertEquals(3,
+                     catalog.getAllForms(root).size());
+        assertDeserializations(6);
+    }
+
+    @Test
+    public void testProjectRenamed() {
+        catalog.getAllForms(root);
+
+        RenameProjectEvent event = mock(RenameProjectEvent.class);
+        when(event.getOldProject()).thenReturn(project);
+        catalog.onProjectRenamed(event);
+
+        assertEquals(0,
+                     catalog.getCachedFormsCount());
+    }
+
+    @Test
+    public void testCachedFormsAreBounded() {
+        catalog.getAllForms(root);
+
+        fillCache();
+
+        assertEquals(FormDefinitionCatalog.MAX_CACHED_FORMS,
+                     catalog.getCachedFormsCount());
+        assertDeserializations(3 + FormDefinitionCatalog.MAX_CACHED_FORMS);
+
+        // evicted forms are still indexed, they are parsed again when loaded
+        assertEquals(PERSON_TYPE,
+                     getModelType(catalog.getFormById(root,
+                                                      "person")));
+        assertEquals(FormDefinitionCatalog.MAX_CACHED_FORMS,
+                     catalog.getCachedFormsCount());
+        assertDeserializations(4 + FormDefinitionCatalog.MAX_CACHED_FORMS);
+    }
+
+    /**
+     * Loads MAX_CACHED_FORMS forms from another project, evicting every other form from the cache.
+     */
+    private void fillCache() {
+        org.uberfire.java.nio.file.Path otherRoot = fs.getPath(new File(folder.getRoot(),
+                                                                        "other").toURI());
+        for (int i = 0; i < FormDefinitionCatalog.MAX_CACHED_FORMS; i++) {
+            writeForm(otherRoot,
+                      "src/main/resources/org/test/Form" + i + ".frm",
+                      "form" + i,
+                      "org.test.Generated");
+        }
+        assertEquals(FormDefinitionCatalog.MAX_CACHED_FORMS,
+                     catalog.getAllForms(Paths.convert(otherRoot)).size());
+    }
+
+    private Path writeForm(String path,
+                           String id,
+                           String modelType) {
+        return writeForm(nioRoot,
+                         path,
+                         id,
+                         modelType);
+    }
+
+    private Path writeForm(org.uberfire.java.nio.file.Path projectRoot,
+                           String path,
+                           String id,
+                           String modelType) {
+        org.uberfire.java.nio.file.Path nioPath = projectRoot.resolve(path);
+        ioService.createDirectories(nioPath.getParent());
+        ioService.write(nioPath,
+                        id + ":" + modelType);
+        return Paths.convert(nioPath);
+    }
+
+    private Path deleteForm(String path) {
+        org.uberfire.java.nio.file.Path nioPath = nioRoot.resolve(path);
+        ioService.delete(nioPath);
+        return Paths.convert(nioPath);
+    }
+
+    private void assertDeserializations(int times) {
+        verify(serializer,
+               times(times)).deserialize(anyString());
+    }
+
+    private void assertIds(List<FormDefinition> forms,
+                           String... ids) {
+        assertEquals(ids.length,
+                     forms.size());
+        for (String id : ids) {
+            assertTrue(forms.stream().anyMatch(form -> id.equals(form.getId())));
+        }
+    }
+
+    private String getModelType(FormDefinition form) {
+        return ((PortableJavaModel) form.getModel()).getType();
+    }
+}
@@ -22,12 +22,16 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.persistence.Entity;
 
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.RenameProjectEvent;
+import org.guvnor.common.services.project.model.Project;
 import org.kie.workbench.common.screens.datamodeller.events.DataObjectCreatedEvent;
 import org.kie.workbench.common.screens.datamodeller.events.DataObjectDeletedEvent;
 import org.kie.workbench.common.screens.datamodeller.model.persistence.PersistenceDescriptorModel;
 import org.kie.workbench.common.screens.datamodeller.model.persistence.PersistenceUnitModel;
 import org.kie.workbench.common.screens.datamodeller.service.PersistenceDescriptorService;
 import org.kie.workbench.common.services.datamodeller.core.DataObject;
+import org.kie.workbench.common.services.datamodeller.driver.impl.ParsedJavaTypeCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
@@ -88,6 +92,20 @@ public class DataModelerEventObserver {
         }
     }
 
+    public void onProjectDeleted( @Observes DeleteProjectEvent event ) {
+        invalidateParsedTypes( event.getProject() );
+    }
+
+    public void onProjectRenamed( @Observes RenameProjectEvent event ) {
+        invalidateParsedTypes( event.getOldProject() );
+    }
+
+    private void invalidateParsedTypes( Project project ) {
+        if ( project != null && project.getRootPath() != null ) {
+            ParsedJavaTypeCache.getInstance().invalidateFolder( project.getRootPath().toURI() );
+        }
+    }
+
     private boolean containsClass( PersistenceUnitModel persistenceUnit, String className ) {
         return persistenceUnit != null &&
                 persistenceUnit.getClasses() != null &&
@@ -86,15 +86,20 @@ public class JavaFileIndexer extends AbstractFileIndexer {
 
     @Override
     public DefaultIndexBuilder fillIndexBuilder( final Path path ) throws Exception {
-        // create indexbuilder
-        final KieProject project = getProject(path);
+        // create indexbuilder; project, package and class loader are resolved once per batch
+        final Object folderKey = getFolderKey( path );
+        final KieProject project = batchScoped( "project",
+                                                folderKey,
+                                                () -> getProject( path ) );
 
         if ( project == null ) {
             logger.error( "Unable to index " + path.toUri().toString() + ": project could not be resolved." );
             return null;
         }
 
-        final Package pkg = getPackage(path);
+        final Package pkg = batchScoped( "package",
+                                         folderKey,
+                                         () -> getPackage( path ) );
         if ( pkg == null ) {
             logger.error( "Unable to index " + path.toUri().toString() + ": package could not be resolved." );
             return null;
@@ -126,7 +131,9 @@ public class JavaFileIndexer extends AbstractFileIndexer {
             Resource resParts = new Resource(javaTypeName, ResourceType.JAVA);
 
             if( javaType instanceof JavaSource ) {
-                ClassLoader projectClassLoader = getProjectClassLoader(project);
+                ClassLoader projectClassLoader = batchScoped( "classLoader",
+                                                              project.getRootPath(),
+                                                              () -> getProjectClassLoader( project ) );
                 JavaSourceVisitor visitor = new JavaSourceVisitor((JavaSource) javaType, projectClassLoader, resParts);
                 visitor.visit((JavaSource) javaType);
                 addReferencedResourcesToIndexBuilder( builder, visitor );
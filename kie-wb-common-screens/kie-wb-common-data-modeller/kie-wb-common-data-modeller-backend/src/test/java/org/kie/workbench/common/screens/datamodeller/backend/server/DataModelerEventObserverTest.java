@@ -18,6 +18,8 @@ package org.kie.workbench.common.screens.datamodeller.backend.server;
 
 import javax.persistence.Entity;
 
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.RenameProjectEvent;
 import org.guvnor.common.services.project.model.Project;
 import org.guvnor.common.services.shared.metadata.model.Metadata;
 import org.junit.Test;
@@ -30,10 +32,13 @@ import org.kie.workbench.common.screens.datamodeller.service.PersistenceDescript
 import org.kie.workbench.common.services.datamodeller.core.DataObject;
 import org.kie.workbench.common.services.datamodeller.core.impl.AnnotationImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
+import org.kie.workbench.common.services.datamodeller.driver.impl.ParsedJavaTypeCache;
 import org.kie.workbench.common.services.datamodeller.util.DriverUtils;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.jboss.forge.roaster.model.JavaType;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
 import org.uberfire.io.IOService;
 
 import static org.junit.Assert.*;
@@ -149,6 +154,39 @@ public class DataModelerEventObserverTest {
         return descriptorModel;
     }
 
+    @Test
+    public void onProjectDeletedTest() {
+        checkParsedTypesInvalidated( "default://dummy-repo/deleted-project", () -> {
+            DeleteProjectEvent event = mock( DeleteProjectEvent.class );
+            when( event.getProject() ).thenReturn( project );
+            createObserver().onProjectDeleted( event );
+        } );
+    }
+
+    @Test
+    public void onProjectRenamedTest() {
+        checkParsedTypesInvalidated( "default://dummy-repo/renamed-project", () -> {
+            RenameProjectEvent event = mock( RenameProjectEvent.class );
+            when( event.getOldProject() ).thenReturn( project );
+            createObserver().onProjectRenamed( event );
+        } );
+    }
+
+    private void checkParsedTypesInvalidated( String projectUri, Runnable projectEvent ) {
+        String sourceRoot = projectUri + "/src/main/java";
+        String otherSourceRoot = projectUri + "-2/src/main/java";
+        ParsedJavaTypeCache cache = ParsedJavaTypeCache.getInstance();
+        cache.put( sourceRoot, sourceRoot + "/Pojo.java", "hash", 10, mock( JavaType.class ) );
+        cache.put( otherSourceRoot, otherSourceRoot + "/Pojo.java", "hash", 10, mock( JavaType.class ) );
+
+        when( project.getRootPath() ).thenReturn( PathFactory.newPath( "project", projectUri ) );
+        projectEvent.run();
+
+        assertNull( cache.get( sourceRoot, sourceRoot + "/Pojo.java", "hash" ) );
+        assertNotNull( cache.get( otherSourceRoot, otherSourceRoot + "/Pojo.java", "hash" ) );
+        cache.invalidateFolder( projectUri + "-2" );
+    }
+
     private DataModelerEventObserver createObserver() {
         return new DataModelerEventObserver( descriptorService, ioService );
     }
@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.drools.core.base.ClassTypeResolver;
@@ -78,6 +79,7 @@ import org.kie.workbench.common.services.datamodeller.driver.model.DriverResult;
 import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
 import org.kie.workbench.common.services.datamodeller.util.DataModelUtils;
 import org.kie.workbench.common.services.datamodeller.util.DriverUtils;
+import org.kie.workbench.common.services.datamodeller.util.FileHashingUtils;
 import org.kie.workbench.common.services.datamodeller.util.FileUtils;
 import org.kie.workbench.common.services.datamodeller.util.NamingUtils;
 import org.slf4j.Logger;
@@ -164,7 +166,6 @@ public class JavaRoasterModelDriver implements ModelDriver {
 
         ModelDriverResult result = new ModelDriverResult();
         DataModel dataModel;
-        String fileContent;
         dataModel = createModel();
         result.setDataModel( dataModel );
 
@@ -173,33 +174,36 @@ public class JavaRoasterModelDriver implements ModelDriver {
 
         Collection<FileUtils.ScanResult> scanResults = FileUtils.getInstance().scan( ioService, rootPaths, ".java", true );
         if ( scanResults != null ) {
-            for ( FileUtils.ScanResult scanResult : scanResults ) {
+            //only the files changed since the model was last loaded need to be parsed, and they are parsed in parallel.
+            List<SourceFile> sourceFiles = readSourceFiles( javaRootPath.toUri().toString(), scanResults );
+            parseSourceFiles( sourceFiles );
 
-                logger.debug( "Starting file loading into model, file: " + scanResult.getFile() );
-                fileContent = ioService.readAllString( scanResult.getFile() );
-                if ( fileContent == null || "".equals( fileContent ) ) {
-                    logger.debug( "file: " + scanResult.getFile() + " is empty." );
-                    continue;
-                }
+            for ( SourceFile sourceFile : sourceFiles ) {
                 try {
-                    JavaType<?> javaType = Roaster.parse( fileContent );
-                    final boolean isManaged = isManagedJavaType( javaType );
-                    final boolean vetoed = ( isManaged ? isVetoed( javaType ) : false );
-                    if ( isManaged && !vetoed ) {
-                        if ( javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty() ) {
-                            //if a file has parsing errors it will be skipped.
-                            addSyntaxErrors( result, scanResult.getFile(), javaType.getSyntaxErrors() );
-                        } else if ( javaType.isEnum() ) {
-                            loadFromJavaEnum( ( JavaEnumSource ) javaType, scanResult.getFile(), dataModel, result);
+                    if ( sourceFile.parseError != null ) {
+                        throw sourceFile.parseError;
+                    }
+                    JavaType<?> javaType = sourceFile.javaType;
+                    //parsed types may be shared with concurrent model loads.
+                    synchronized ( javaType ) {
+                        final boolean isManaged = isManagedJavaType( javaType );
+                        final boolean vetoed = ( isManaged ? isVetoed( javaType ) : false );
+                        if ( isManaged && !vetoed ) {
+                            if ( javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty() ) {
+                                //if a file has parsing errors it will be skipped.
+                                addSyntaxErrors( result, sourceFile.file, javaType.getSyntaxErrors() );
+                            } else if ( javaType.isEnum() ) {
+                                loadFromJavaEnum( ( JavaEnumSource ) javaType, sourceFile.file, dataModel, result);
+                            } else {
+                                loadFromJavaClass( ( JavaClassSource ) javaType, sourceFile.file, dataModel, result );
+                            }
+                        } else if ( vetoed ) {
+                            logger.debug( "The class, {}, in the file, {}, was vetoed and will be skipped.",
+                                          javaType.getQualifiedName(),
+                                          sourceFile.file );
                         } else {
-                            loadFromJavaClass( ( JavaClassSource ) javaType, scanResult.getFile(), dataModel, result );
+                            logger.debug( "File: " + sourceFile.file + " do not contain a managed java type, it will be skipped." );
                         }
-                    } else if ( vetoed ) {
-                        logger.debug( "The class, {}, in the file, {}, was vetoed and will be skipped.",
-                                      javaType.getQualifiedName(),
-                                      scanResult.getFile() );
-                    } else {
-                        logger.debug( "File: " + scanResult.getFile() + " do not contain a managed java type, it will be skipped." );
                     }
                 } catch ( Exception e ) {
                     //Unexpected parsing or model loading exception.
@@ -211,6 +215,69 @@ public class JavaRoasterModelDriver implements ModelDriver {
         return result;
     }
 
+    private List<SourceFile> readSourceFiles( String sourceRoot, Collection<FileUtils.ScanResult> scanResults ) {
+        List<SourceFile> sourceFiles = new ArrayList<SourceFile>( scanResults.size() );
+        for ( FileUtils.ScanResult scanResult : scanResults ) {
+            logger.debug( "Starting file loading into model, file: " + scanResult.getFile() );
+            String fileContent = ioService.readAllString( scanResult.getFile() );
+            if ( fileContent == null || "".equals( fileContent ) ) {
+                logger.debug( "file: " + scanResult.getFile() + " is empty." );
+                continue;
+            }
+            SourceFile sourceFile = new SourceFile( sourceRoot, scanResult.getFile(), fileContent );
+            sourceFile.javaType = ParsedJavaTypeCache.getInstance().get( sourceRoot, sourceFile.uri, sourceFile.contentHash );
+            sourceFiles.add( sourceFile );
+        }
+        return sourceFiles;
+    }
+
+    private void parseSourceFiles( List<SourceFile> sourceFiles ) {
+        List<SourceFile> changedFiles = sourceFiles.stream()
+                .filter( sourceFile -> sourceFile.javaType == null )
+                .collect( Collectors.toList() );
+        if ( changedFiles.size() > 1 ) {
+            //Files changed since the model was last loaded are parsed on the common ForkJoinPool
+            changedFiles.parallelStream().forEach( SourceFile::parse );
+        } else {
+            changedFiles.forEach( SourceFile::parse );
+        }
+        logger.debug( "Parsed " + changedFiles.size() + " of " + sourceFiles.size() + " file(s) from: " + javaRootPath );
+    }
+
+    private static class SourceFile {
+
+        private final String sourceRoot;
+
+        private final Path file;
+
+        private final String uri;
+
+        private final String content;
+
+        private final String contentHash;
+
+        private JavaType<?> javaType;
+
+        private Exception parseError;
+
+        private SourceFile( String sourceRoot, Path file, String content ) {
+            this.sourceRoot = sourceRoot;
+            this.file = file;
+            this.uri = file.toUri().toString();
+            this.content = content;
+            this.contentHash = FileHashingUtils.md5Hex( content );
+        }
+
+        private void parse() {
+            try {
+                javaType = Roaster.parse( content );
+                ParsedJavaTypeCache.getInstance().put( sourceRoot, uri, contentHash, content.length(), javaType );
+            } catch ( Exception e ) {
+                parseError = e;
+            }
+        }
+    }
+
     private boolean isVetoed( final JavaType<?> javaType ) {
         return filterHolder.getSourceFilters().stream().anyMatch( filter -> filter.veto( javaType ) );
     }
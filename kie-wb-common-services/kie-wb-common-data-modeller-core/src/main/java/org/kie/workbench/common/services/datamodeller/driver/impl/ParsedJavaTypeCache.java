@@ -0,0 +1,217 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodeller.driver.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.forge.roaster.model.JavaType;
+
+/**
+ * Cache of the java types parsed by Roaster when a DataModel is loaded, keyed by source root (the java sources root of
+ * a project), file and MD5 hash of the file content
+ * (see {@link org.kie.workbench.common.services.datamodeller.util.FileHashingUtils#md5Hex(String)}). Loading the model
+ * of a project only re-parses the files that changed since it was last loaded. The parsed types are read-only for the
+ * model driver; callers sharing an entry must synchronize on the java type whilst reading it.
+ * <p>
+ * Parsed types are far bigger than their sources, so the cache is bounded both by the number of files kept for each
+ * source root and by the total length of the sources kept, evicting the files of the least recently loaded source roots
+ * first. The entries of a project must be invalidated when the project is deleted.
+ */
+public class ParsedJavaTypeCache {
+
+    public static final String MAX_ENTRIES_PROPERTY = "org.kie.workbench.datamodeller.parsed.cache.size";
+
+    public static final String MAX_SOURCE_SIZE_PROPERTY = "org.kie.workbench.datamodeller.parsed.cache.sourceSize";
+
+    private static final int DEFAULT_MAX_ENTRIES = 2000;
+
+    private static final long DEFAULT_MAX_SOURCE_SIZE = 4 * 1024 * 1024;
+
+    private static final ParsedJavaTypeCache INSTANCE = new ParsedJavaTypeCache( Integer.getInteger( MAX_ENTRIES_PROPERTY,
+                                                                                                     DEFAULT_MAX_ENTRIES ),
+                                                                                 Long.getLong( MAX_SOURCE_SIZE_PROPERTY,
+                                                                                               DEFAULT_MAX_SOURCE_SIZE ) );
+
+    //entries by file, by source root. Both maps are in access order, the least recently used first.
+    private final Map<String, Map<String, Entry>> sourceRoots = new LinkedHashMap<String, Map<String, Entry>>( 16, 0.75f, true );
+
+    private final int maxEntries;
+
+    private final long maxSourceSize;
+
+    private long sourceSize;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    ParsedJavaTypeCache( final int maxEntries,
+                         final long maxSourceSize ) {
+        this.maxEntries = maxEntries;
+        this.maxSourceSize = maxSourceSize;
+    }
+
+    public static ParsedJavaTypeCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param sourceRoot URI of the java sources root the file belongs to
+     * @param file URI of the java file
+     * @param contentHash Hash of the current content of the file
+     * @return The java type parsed from that content, or null if the file was not parsed or has changed since.
+     */
+    public JavaType<?> get( final String sourceRoot,
+                            final String file,
+                            final String contentHash ) {
+        Entry entry = null;
+        synchronized ( this ) {
+            final Map<String, Entry> entries = sourceRoots.get( sourceRoot );
+            if ( entries != null ) {
+                entry = entries.get( file );
+            }
+        }
+        if ( entry != null && entry.contentHash.equals( contentHash ) ) {
+            hits.increment();
+            return entry.javaType;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * @param sourceRoot URI of the java sources root the file belongs to
+     * @param file URI of the java file
+     * @param contentHash Hash of the content the type was parsed from
+     * @param contentLength Length of the content the type was parsed from
+     * @param javaType The parsed java type
+     */
+    public synchronized void put( final String sourceRoot,
+                                  final String file,
+                                  final String contentHash,
+                                  final int contentLength,
+                                  final JavaType<?> javaType ) {
+        final Map<String, Entry> entries = sourceRoots.computeIfAbsent( sourceRoot,
+                                                                        key -> new LinkedHashMap<String, Entry>( 16, 0.75f, true ) );
+        final Entry previous = entries.put( file,
+                                            new Entry( contentHash,
+                                                       contentLength,
+                                                       javaType ) );
+        if ( previous != null ) {
+            sourceSize -= previous.contentLength;
+        }
+        sourceSize += contentLength;
+
+        while ( entries.size() > maxEntries ) {
+            evictEldest( entries );
+        }
+        final Iterator<Map<String, Entry>> eldestSourceRoots = sourceRoots.values().iterator();
+        while ( sourceSize > maxSourceSize && eldestSourceRoots.hasNext() ) {
+            final Map<String, Entry> eldestEntries = eldestSourceRoots.next();
+            while ( sourceSize > maxSourceSize && !eldestEntries.isEmpty() ) {
+                evictEldest( eldestEntries );
+            }
+        }
+        sourceRoots.values().removeIf( Map::isEmpty );
+    }
+
+    public synchronized void invalidate( final String sourceRoot,
+                                         final String file ) {
+        final Map<String, Entry> entries = sourceRoots.get( sourceRoot );
+        if ( entries != null ) {
+            final Entry entry = entries.remove( file );
+            if ( entry != null ) {
+                sourceSize -= entry.contentLength;
+            }
+            if ( entries.isEmpty() ) {
+                sourceRoots.remove( sourceRoot );
+            }
+        }
+    }
+
+    /**
+     * Invalidates the entries of every source root inside the given folder, e.g. the root folder of a project.
+     * @param folder URI of the folder
+     */
+    public synchronized void invalidateFolder( final String folder ) {
+        final String prefix = folder.endsWith( "/" ) ? folder : folder + "/";
+        final Iterator<Map.Entry<String, Map<String, Entry>>> it = sourceRoots.entrySet().iterator();
+        while ( it.hasNext() ) {
+            final Map.Entry<String, Map<String, Entry>> sourceRoot = it.next();
+            if ( sourceRoot.getKey().equals( folder ) || sourceRoot.getKey().startsWith( prefix ) ) {
+                for ( Entry entry : sourceRoot.getValue().values() ) {
+                    sourceSize -= entry.contentLength;
+                }
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateCache() {
+        sourceRoots.clear();
+        sourceSize = 0;
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for ( Map<String, Entry> entries : sourceRoots.values() ) {
+            size += entries.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return Total length of the sources of the cached types.
+     */
+    public synchronized long getSourceSize() {
+        return sourceSize;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private void evictEldest( final Map<String, Entry> entries ) {
+        final Iterator<Entry> it = entries.values().iterator();
+        sourceSize -= it.next().contentLength;
+        it.remove();
+    }
+
+    private static class Entry {
+
+        private final String contentHash;
+
+        private final int contentLength;
+
+        private final JavaType<?> javaType;
+
+        private Entry( final String contentHash,
+                       final int contentLength,
+                       final JavaType<?> javaType ) {
+            this.contentHash = contentHash;
+            this.contentLength = contentLength;
+            this.javaType = javaType;
+        }
+    }
+}
@@ -85,6 +85,7 @@ import org.kie.workbench.common.services.datamodeller.core.impl.ParameterImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.TypeImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.JavaEnumImpl;
 import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
+import org.kie.workbench.common.services.datamodeller.driver.impl.ParsedJavaTypeCache;
 import org.kie.workbench.common.services.datamodeller.driver.impl.UpdateInfo;
 import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
 import org.kie.workbench.common.services.datamodeller.parser.test.TestAnnotation;
@@ -211,6 +212,36 @@ public class JavaRoasterModelDriverTest {
         }
     }
 
+    @Test
+    public void modelReloadReusesParsedTypesTest() throws Exception {
+        String uriToResource = this.getClass().getResource( "projectRoot.txt" ).toURI().toString();
+        URI uriToRootPath = URI.create( uriToResource.substring( 0, uriToResource.length() - "projectRoot.txt".length() ) );
+        Path rootPath = simpleFileSystemProvider.getPath( uriToRootPath );
+
+        FilterHolder filterHolder = mock( FilterHolder.class );
+        when( filterHolder.getSourceFilters() ).thenReturn( Collections.emptySet() );
+        when( filterHolder.getNestedClassFilters() ).thenReturn( Collections.emptySet() );
+        when( filterHolder.getMethodFilters() ).thenReturn( Collections.emptySet() );
+
+        ModelDriverResult firstResult = new JavaRoasterModelDriver( ioService,
+                                                                    rootPath,
+                                                                    getClass().getClassLoader(),
+                                                                    filterHolder ).loadModel();
+        long misses = ParsedJavaTypeCache.getInstance().getMissCount();
+
+        ModelDriverResult secondResult = new JavaRoasterModelDriver( ioService,
+                                                                     rootPath,
+                                                                     getClass().getClassLoader(),
+                                                                     filterHolder ).loadModel();
+
+        //no file changed, so nothing was parsed again
+        assertEquals( misses, ParsedJavaTypeCache.getInstance().getMissCount() );
+        assertEquals( firstResult.getDataModel().getDataObjects().size(), secondResult.getDataModel().getDataObjects().size() );
+        for ( DataObject dataObject : firstResult.getDataModel().getDataObjects() ) {
+            DataModelerAssert.assertEqualsDataObject( dataObject, secondResult.getDataModel().getDataObject( dataObject.getClassName() ) );
+        }
+    }
+
     @Test
     public void updateAnnotationsTest() {
 
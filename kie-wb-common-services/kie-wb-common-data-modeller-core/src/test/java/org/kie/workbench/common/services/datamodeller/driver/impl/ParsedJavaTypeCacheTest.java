@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodeller.driver.impl;
+
+import org.jboss.forge.roaster.model.JavaType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ParsedJavaTypeCacheTest {
+
+    private static final String PROJECT1_SOURCES = "default://repo/project1/src/main/java";
+
+    private static final String PROJECT2_SOURCES = "default://repo/project2/src/main/java";
+
+    private static final String PROJECT3_SOURCES = "default://repo/project3/src/main/java";
+
+    private ParsedJavaTypeCache cache = new ParsedJavaTypeCache( 2, 100 );
+
+    @Test
+    public void testGetByContentHash() {
+        JavaType<?> javaType = put( PROJECT1_SOURCES, "Pojo1.java", "hash1", 10 );
+
+        assertSame( javaType, cache.get( PROJECT1_SOURCES, file( PROJECT1_SOURCES, "Pojo1.java" ), "hash1" ) );
+        assertNull( cache.get( PROJECT1_SOURCES, file( PROJECT1_SOURCES, "Pojo1.java" ), "hash2" ) );
+        assertNull( cache.get( PROJECT2_SOURCES, file( PROJECT1_SOURCES, "Pojo1.java" ), "hash1" ) );
+        assertEquals( 1, cache.getHitCount() );
+        assertEquals( 2, cache.getMissCount() );
+
+        JavaType<?> changed = put( PROJECT1_SOURCES, "Pojo1.java", "hash2", 20 );
+
+        assertSame( changed, cache.get( PROJECT1_SOURCES, file( PROJECT1_SOURCES, "Pojo1.java" ), "hash2" ) );
+        assertEquals( 1, cache.size() );
+        assertEquals( 20, cache.getSourceSize() );
+    }
+
+    @Test
+    public void testBoundedPerSourceRoot() {
+        put( PROJECT1_SOURCES, "Pojo1.java", "hash", 10 );
+        put( PROJECT1_SOURCES, "Pojo2.java", "hash", 10 );
+        put( PROJECT2_SOURCES, "Pojo1.java", "hash", 10 );
+        cache.get( PROJECT1_SOURCES, file( PROJECT1_SOURCES, "Pojo1.java" ), "hash" );
+        put( PROJECT1_SOURCES, "Pojo3.java", "hash", 10 );
+
+        assertNotNull( cache.get( PROJECT1_SOURCES, file( PROJECT1_SOURCES, "Pojo1.java" ), "hash" ) );
+        assertNull( cache.get( PROJECT1_SOURCES, file( PROJECT1_SOURCES, "Pojo2.java" ), "hash" ) );
+        assertNotNull( cache.get( PROJECT1_SOURCES, file( PROJECT1_SOURCES, "Pojo3.java" ), "hash" ) );
+        assertNotNull( cache.get( PROJECT2_SOURCES, file( PROJECT2_SOURCES, "Pojo1.java" ), "hash" ) );
+        assertEquals( 3, cache.size() );
+        assertEquals( 30, cache.getSourceSize() );
+    }
+
+    @Test
+    public void testBoundedBySourceSize() {
+        put( PROJECT1_SOURCES, "Pojo1.java", "hash", 40 );
+        put( PROJECT2_SOURCES, "Pojo1.java", "hash", 40 );
+        put( PROJECT1_SOURCES, "Pojo2.java", "hash", 10 );
+        put( PROJECT3_SOURCES, "Pojo1.java", "hash", 30 );
+
+        //the least recently used source root is evicted first
+        assertNull( cache.get( PROJECT2_SOURCES, file( PROJECT2_SOURCES, "Pojo1.java" ), "hash" ) );
+        assertNotNull( cache.get( PROJECT1_SOURCES, file( PROJECT1_SOURCES, "Pojo1.java" ), "hash" ) );
+        assertNotNull( cache.get( PROJECT1_SOURCES, file( PROJECT1_SOURCES, "Pojo2.java" ), "hash" ) );
+        assertNotNull( cache.get( PROJECT3_SOURCES, file( PROJECT3_SOURCES, "Pojo1.java" ), "hash" ) );
+        assertEquals( 80, cache.getSourceSize() );
+
+        put( PROJECT3_SOURCES, "Pojo2.java", "hash", 90 );
+
+        assertEquals( 1, cache.size() );
+        assertEquals( 90, cache.getSourceSize() );
+    }
+
+    @Test
+    public void testInvalidateFolder() {
+        put( PROJECT1_SOURCES, "Pojo1.java", "hash", 10 );
+        put( PROJECT1_SOURCES, "Pojo2.java", "hash", 10 );
+        put( PROJECT2_SOURCES, "Pojo1.java", "hash", 10 );
+        put( "default://repo/project10/src/main/java", "Pojo1.java", "hash", 10 );
+
+        cache.invalidateFolder( "default://repo/project1" );
+
+        assertNull( cache.get( PROJECT1_SOURCES, file( PROJECT1_SOURCES, "Pojo1.java" ), "hash" ) );
+        assertNull( cache.get( PROJECT1_SOURCES, file( PROJECT1_SOURCES, "Pojo2.java" ), "hash" ) );
+        assertEquals( 2, cache.size() );
+        assertEquals( 20, cache.getSourceSize() );
+
+        cache.invalidate( PROJECT2_SOURCES, file( PROJECT2_SOURCES, "Pojo1.java" ) );
+
+        assertEquals( 1, cache.size() );
+        assertEquals( 10, cache.getSourceSize() );
+
+        cache.invalidateCache();
+
+        assertEquals( 0, cache.size() );
+        assertEquals( 0, cache.getSourceSize() );
+    }
+
+    private JavaType<?> put( String sourceRoot, String fileName, String hash, int length ) {
+        JavaType<?> javaType = mock( JavaType.class );
+        cache.put( sourceRoot, file( sourceRoot, fileName ), hash, length, javaType );
+        return javaType;
+    }
+
+    private String file( String sourceRoot, String fileName ) {
+        return sourceRoot + "/org/test/" + fileName;
+    }
+}
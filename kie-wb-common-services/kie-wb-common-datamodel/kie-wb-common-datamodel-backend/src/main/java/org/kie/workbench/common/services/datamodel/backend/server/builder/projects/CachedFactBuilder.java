@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+
+/**
+ * Builder for Fact Types whose meta-data has already been built, see {@link DependencyFactTypeCache}. The meta-data
+ * is merged into the DataModelOracle by reference.
+ */
+public class CachedFactBuilder implements FactBuilder {
+
+    private final ProjectDataModelOracleBuilder builder;
+    private final ProjectDataModelOracleImpl factTypes;
+
+    public CachedFactBuilder( final ProjectDataModelOracleBuilder builder,
+                              final ProjectDataModelOracleImpl factTypes ) {
+        this.builder = builder;
+        this.factTypes = factTypes;
+    }
+
+    @Override
+    public ProjectDataModelOracleBuilder end() {
+        return builder;
+    }
+
+    @Override
+    public Map<String, FactBuilder> getInternalBuilders() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public void build( final ProjectDataModelOracleImpl oracle ) {
+        oracle.addProjectModelFields( factTypes.getProjectModelFields() );
+        oracle.addProjectCollectionTypes( factTypes.getProjectCollectionTypes() );
+        oracle.addProjectEventTypes( factTypes.getProjectEventTypes() );
+        oracle.addProjectTypeSources( factTypes.getProjectTypeSources() );
+        oracle.addProjectMethodInformation( factTypes.getProjectMethodInformation() );
+        oracle.addProjectFieldParametersType( factTypes.getProjectFieldParametersType() );
+        oracle.addProjectSuperTypes( factTypes.getProjectSuperTypes() );
+        oracle.addProjectTypeAnnotations( factTypes.getProjectTypeAnnotations() );
+        oracle.addProjectTypeFieldsAnnotations( factTypes.getProjectTypeFieldsAnnotations() );
+    }
+}
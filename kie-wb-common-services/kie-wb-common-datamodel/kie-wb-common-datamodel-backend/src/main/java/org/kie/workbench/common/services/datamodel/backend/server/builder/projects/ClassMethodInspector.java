@@ -28,6 +28,7 @@ import java.util.Set;
 
 import org.drools.workbench.models.datamodel.oracle.MethodInfo;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.util.BlackLists;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.util.ClassReflectionCache;
 
 /**
  * Finds all methods that are not getters or setters from a class.
@@ -38,10 +39,10 @@ public class ClassMethodInspector {
 
     public ClassMethodInspector( final Class<?> clazz,
                                  final ClassToGenericClassConverter converter ) throws IOException {
-        final Method[] methods = clazz.getDeclaredMethods();
-        for ( int i = 0; i < methods.length; i++ ) {
-            Method aMethod = methods[ i ];
-            int modifiers = methods[ i ].getModifiers();
+        final List<Method> methods = ClassReflectionCache.getDeclaredMethods( clazz );
+        for ( int i = 0; i < methods.size(); i++ ) {
+            Method aMethod = methods.get( i );
+            int modifiers = aMethod.getModifiers();
             String methodName = aMethod.getName();
 
             if ( isNotGetterOrSetter( aMethod ) && !BlackLists.isClassMethodBlackListed( clazz,
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.File;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded LRU store of the DataModelOracle meta-data (ModelFields, MethodInfos, annotations, enums etc) of Fact Types
+ * loaded from dependency jars. Entries are keyed by the jar containing the class, its last modification time and the
+ * class name so Projects depending on the same artifact share the meta-data, even though each Project loads the class
+ * with its own ClassLoader. Entries only hold portable meta-data, never Classes, so ClassLoaders are not pinned.
+ */
+public final class DependencyFactTypeCache {
+
+    public static final String MAX_ENTRIES_PROPERTY = "org.kie.workbench.datamodel.dependency.cache.size";
+
+    private static final Logger log = LoggerFactory.getLogger( DependencyFactTypeCache.class );
+
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private static final DependencyFactTypeCache INSTANCE = new DependencyFactTypeCache( Integer.getInteger( MAX_ENTRIES_PROPERTY,
+                                                                                                             DEFAULT_MAX_ENTRIES ) );
+
+    private final Map<String, ProjectDataModelOracleImpl> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public static DependencyFactTypeCache getInstance() {
+        return INSTANCE;
+    }
+
+    DependencyFactTypeCache( final int maxEntries ) {
+        this.entries = new LinkedHashMap<String, ProjectDataModelOracleImpl>( 16,
+                                                                              0.75f,
+                                                                              true ) {
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry<String, ProjectDataModelOracleImpl> eldest ) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Calculates the key for a class loaded from a dependency.
+     * @param clazz The class
+     * @param isEvent Whether the class is a CEP event
+     * @return The key or null if the class was not loaded from a jar file and hence cannot be shared
+     */
+    public String getKey( final Class<?> clazz,
+                          final boolean isEvent ) {
+        try {
+            final CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+            final URL location = codeSource == null ? null : codeSource.getLocation();
+            if ( location == null || !"file".equals( location.getProtocol() ) || !location.getPath().endsWith( ".jar" ) ) {
+                return null;
+            }
+            //SNAPSHOT artifacts can change in place
+            final long lastModified = new File( location.toURI() ).lastModified();
+            return location.toExternalForm() + "@" + lastModified + "!" + clazz.getName() + "#" + isEvent;
+        } catch ( Exception e ) {
+            log.debug( e.getMessage() );
+            return null;
+        }
+    }
+
+    public synchronized ProjectDataModelOracleImpl get( final String key ) {
+        final ProjectDataModelOracleImpl entry = entries.get( key );
+        if ( entry == null ) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return entry;
+    }
+
+    public synchronized void put( final String key,
+                                  final ProjectDataModelOracleImpl entry ) {
+        entries.put( key,
+                     entry );
+    }
+
+    public synchronized void invalidate() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+}
@@ -91,6 +91,35 @@ public final class ProjectDataModelOracleBuilder {
     public ProjectDataModelOracleBuilder addClass( final Class clazz,
                                                    final boolean isEvent,
                                                    final TypeSource typeSource ) throws IOException {
+        //Meta-data of classes in dependency jars is shared between Projects
+        if ( TypeSource.JAVA_DEPENDENCY == typeSource ) {
+            final DependencyFactTypeCache cache = DependencyFactTypeCache.getInstance();
+            final String key = cache.getKey( clazz,
+                                             isEvent );
+            if ( key != null ) {
+                ProjectDataModelOracleImpl factTypes = cache.get( key );
+                if ( factTypes == null ) {
+                    factTypes = (ProjectDataModelOracleImpl) newProjectOracleBuilder().addClassFactBuilder( clazz,
+                                                                                                            isEvent,
+                                                                                                            typeSource ).build();
+                    cache.put( key,
+                               factTypes );
+                }
+                factFieldEnums.putAll( factTypes.getProjectJavaEnumDefinitions() );
+                factTypeBuilders.put( clazz.getName(),
+                                      new CachedFactBuilder( this,
+                                                             factTypes ) );
+                return this;
+            }
+        }
+        return addClassFactBuilder( clazz,
+                                    isEvent,
+                                    typeSource );
+    }
+
+    private ProjectDataModelOracleBuilder addClassFactBuilder( final Class clazz,
+                                                               final boolean isEvent,
+                                                               final TypeSource typeSource ) throws IOException {
         final FactBuilder builder = new ClassFactBuilder( this,
                                                           discoveredFieldFactBuilders,
                                                           clazz,
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memoized reflection meta-data for classes introspected when building DataModelOracles. Entries are attached to the
+ * Class itself (see {@link ClassValue}) so they are shared by every Fact Type with a common super-type, and by every
+ * Project loading the same dependency classes, without preventing classes from being unloaded.
+ */
+public final class ClassReflectionCache {
+
+    private static final ClassValue<List<Field>> DECLARED_FIELDS = new ClassValue<List<Field>>() {
+        @Override
+        protected List<Field> computeValue( final Class<?> type ) {
+            return Collections.unmodifiableList( Arrays.asList( type.getDeclaredFields() ) );
+        }
+    };
+
+    private static final ClassValue<List<Method>> DECLARED_METHODS = new ClassValue<List<Method>>() {
+        @Override
+        protected List<Method> computeValue( final Class<?> type ) {
+            return Collections.unmodifiableList( Arrays.asList( type.getDeclaredMethods() ) );
+        }
+    };
+
+    private static final ClassValue<Map<String, Field>> ALL_FIELDS = new ClassValue<Map<String, Field>>() {
+        @Override
+        protected Map<String, Field> computeValue( final Class<?> type ) {
+            final Map<String, Field> fields = new HashMap<String, Field>();
+            for ( Field f : getDeclaredFields( type ) ) {
+                fields.put( f.getName(),
+                            f );
+            }
+            //Fields of super-types take precedence over those of sub-types with the same name
+            if ( type.getSuperclass() != null ) {
+                fields.putAll( getAllFields( type.getSuperclass() ) );
+            }
+            return Collections.unmodifiableMap( fields );
+        }
+    };
+
+    private static final ClassValue<Map<String, Method>> ALL_METHODS = new ClassValue<Map<String, Method>>() {
+        @Override
+        protected Map<String, Method> computeValue( final Class<?> type ) {
+            final Map<String, Method> methods = new HashMap<String, Method>();
+            for ( Method m : getDeclaredMethods( type ) ) {
+                methods.put( m.getName(),
+                             m );
+            }
+            //Methods of super-types take precedence over those of sub-types with the same name
+            if ( type.getSuperclass() != null ) {
+                methods.putAll( getAllMethods( type.getSuperclass() ) );
+            }
+            return Collections.unmodifiableMap( methods );
+        }
+    };
+
+    private ClassReflectionCache() {
+    }
+
+    /**
+     * @return An unmodifiable view of {@link Class#getDeclaredFields()}
+     */
+    public static List<Field> getDeclaredFields( final Class<?> type ) {
+        return DECLARED_FIELDS.get( type );
+    }
+
+    /**
+     * @return An unmodifiable view of {@link Class#getDeclaredMethods()}
+     */
+    public static List<Method> getDeclaredMethods( final Class<?> type ) {
+        return DECLARED_METHODS.get( type );
+    }
+
+    /**
+     * Class.getDeclaredFields() doesn't walk the inheritance tree; this does.
+     * @return Fields of the type and its super-types keyed by name
+     */
+    public static Map<String, Field> getAllFields( final Class<?> type ) {
+        return ALL_FIELDS.get( type );
+    }
+
+    /**
+     * Class.getDeclaredMethods() doesn't walk the inheritance tree; this does.
+     * @return Methods of the type and its super-types keyed by name
+     */
+    public static Map<String, Method> getAllMethods( final Class<?> type ) {
+        return ALL_METHODS.get( type );
+    }
+
+    /**
+     * Eagerly computes the meta-data of the type, and its super-types, so it can be prepared concurrently ahead of use.
+     */
+    public static void warm( final Class<?> type ) {
+        getAllFields( type );
+        getAllMethods( type );
+    }
+}
@@ -17,7 +17,11 @@ package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
@@ -48,7 +52,8 @@ import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.DirectoryStream;
 
 /**
- * A simple LRU cache for Package DataModelOracles
+ * A simple LRU cache for Package DataModelOracles. Cached Packages are also indexed by Project so invalidating a
+ * Project only visits the Packages of that Project.
  */
 @ApplicationScoped
 @Named("PackageDataModelOracleCache")
@@ -70,6 +75,12 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
 
     private BuildInfoService buildInfoService;
 
+    //Project root URI to the Packages of the Project that have been cached
+    private final Map<String, Set<Package>> projectPackages = new HashMap<String, Set<Package>>();
+
+    //Cached Package to the root URI of its Project
+    private final Map<Package, String> packageProjects = new HashMap<Package, String>();
+
     public LRUDataModelOracleCache() {
         //CDI proxy
     }
@@ -96,6 +107,7 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
         //If resource was not within a Package there's nothing to invalidate
         if (pkg != null) {
             invalidateCache(pkg);
+            unindexPackage(pkg);
         }
     }
 
@@ -110,28 +122,43 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
             return;
         }
 
-        final String projectUri = project.getRootPath().toURI();
-        final List<Package> cacheEntriesToInvalidate = new ArrayList<Package>();
-        for (final Package pkg : getKeys()) {
-            final Path packageMainSrcPath = pkg.getPackageMainSrcPath();
-            final Path packageTestSrcPath = pkg.getPackageTestSrcPath();
-            final Path packageMainResourcesPath = pkg.getPackageMainResourcesPath();
-            final Path packageTestResourcesPath = pkg.getPackageTestResourcesPath();
-            if (packageMainSrcPath != null && packageMainSrcPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            } else if (packageTestSrcPath != null && packageTestSrcPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            } else if (packageMainResourcesPath != null && packageMainResourcesPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            } else if (packageTestResourcesPath != null && packageTestResourcesPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
+        //Enumerations, DSLs and Globals only contribute to the DataModelOracle of their own Package
+        if (isPackageScopedResource(resourcePath)) {
+            final Package pkg = projectService.resolvePackage(resourcePath);
+            if (pkg != null) {
+                invalidateCache(pkg);
+                unindexPackage(pkg);
             }
+            return;
+        }
+
+        //Fact Types are copied into every Package DataModelOracle so all Packages of the Project are affected
+        final Set<Package> cacheEntriesToInvalidate = projectPackages.remove(project.getRootPath().toURI());
+        if (cacheEntriesToInvalidate == null) {
+            return;
         }
         for (final Package pkg : cacheEntriesToInvalidate) {
             invalidateCache(pkg);
+            packageProjects.remove(pkg);
         }
     }
 
+    /**
+     * Checks whether a resource only contributes to the DataModelOracle of the Package containing it; i.e. it does not
+     * define Fact Types that are shared by all Packages in the Project.
+     * @param resourcePath The resource
+     * @return true if the resource is an enumeration, DSL or globals definition.
+     */
+    public static boolean isPackageScopedResource(final Path resourcePath) {
+        if (resourcePath == null) {
+            return false;
+        }
+        final org.uberfire.java.nio.file.Path nioResourcePath = Paths.convert(resourcePath);
+        return FILTER_ENUMERATIONS.accept(nioResourcePath)
+                || FILTER_DSLS.accept(nioResourcePath)
+                || FILTER_GLOBALS.accept(nioResourcePath);
+    }
+
     //Check the DataModelOracle for the Package has been created, otherwise create one!
     public synchronized PackageDataModelOracle assertPackageDataModelOracle(final KieProject project,
                                                                             final Package pkg) {
@@ -141,11 +168,63 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
                                                 pkg);
             setEntry(pkg,
                      oracle);
+            indexPackage(project,
+                         pkg);
+            pruneIndex();
         }
         return oracle;
     }
 
-    private PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
+    //Visible for testing
+    synchronized Set<Package> getIndexedPackages(final String projectUri) {
+        final Set<Package> packages = projectPackages.get(projectUri);
+        return packages == null ? Collections.<Package>emptySet() : new HashSet<Package>(packages);
+    }
+
+    private void indexPackage(final KieProject project,
+                              final Package pkg) {
+        final String projectUri = project.getRootPath().toURI();
+        Set<Package> packages = projectPackages.get(projectUri);
+        if (packages == null) {
+            packages = new HashSet<Package>();
+            projectPackages.put(projectUri,
+                                packages);
+        }
+        packages.add(pkg);
+        packageProjects.put(pkg,
+                            projectUri);
+    }
+
+    private void unindexPackage(final Package pkg) {
+        final String projectUri = packageProjects.remove(pkg);
+        if (projectUri == null) {
+            return;
+        }
+        final Set<Package> packages = projectPackages.get(projectUri);
+        if (packages != null) {
+            packages.remove(pkg);
+            if (packages.isEmpty()) {
+                projectPackages.remove(projectUri);
+            }
+        }
+    }
+
+    //LRUCache does not notify evictions, so Packages evicted from the cache are dropped from the index once it
+    //holds more Packages than the cache
+    private void pruneIndex() {
+        final Collection<Package> cachedPackages = getKeys();
+        if (packageProjects.size() <= cachedPackages.size()) {
+            return;
+        }
+        final Set<Package> cached = new HashSet<Package>(cachedPackages);
+        for (final Package pkg : new ArrayList<Package>(packageProjects.keySet())) {
+            if (!cached.contains(pkg)) {
+                unindexPackage(pkg);
+            }
+        }
+    }
+
+    protected PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
                                                               final Package pkg) {
         final String packageName = pkg.getPackageName();
         final PackageDataModelOracleBuilder dmoBuilder = PackageDataModelOracleBuilder.newPackageOracleBuilder(packageName);
@@ -57,6 +57,12 @@ public class LRUProjectDataModelOracleCache
         PortablePreconditions.checkNotNull( "event",
                                             event );
         final Path resourcePath = event.getResourcePath();
+
+        //Enumerations, DSLs and Globals do not contribute to the Project DataModelOracle
+        if ( LRUDataModelOracleCache.isPackageScopedResource( resourcePath ) ) {
+            return;
+        }
+
         final KieProject project = projectService.resolveProject( resourcePath );
 
         //If resource was not within a Project there's nothing to invalidate
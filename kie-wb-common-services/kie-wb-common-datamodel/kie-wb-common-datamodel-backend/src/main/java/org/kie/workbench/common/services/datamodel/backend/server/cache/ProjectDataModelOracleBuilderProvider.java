@@ -16,8 +16,10 @@
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
 import java.io.IOException;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.inject.Inject;
 
 import org.drools.workbench.models.datamodel.imports.Import;
@@ -27,6 +29,7 @@ import org.kie.scanner.KieModuleMetaData;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
 import org.kie.workbench.common.services.backend.builder.core.TypeSourceResolver;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleBuilder;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.util.ClassReflectionCache;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
 import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
@@ -102,10 +105,29 @@ public class ProjectDataModelOracleBuilderProvider {
         }
 
         private void addFromKieModuleMetadata() {
+            final Map<String, List<ProjectClass>> packageClasses = new LinkedHashMap<>();
+            final List<ProjectClass> allClasses = new ArrayList<>();
             for (final String packageName : getFilteredPackageNames()) {
-                pdBuilder.addPackage(packageName);
-                addClasses(packageName,
-                           kieModuleMetaData.getClasses(packageName));
+                final List<ProjectClass> classes = new ArrayList<>();
+                for (final String className : kieModuleMetaData.getClasses(packageName)) {
+                    classes.add(new ProjectClass(packageName,
+                                                 className));
+                }
+                packageClasses.put(packageName,
+                                   classes);
+                allClasses.addAll(classes);
+            }
+
+            //Classes are loaded and their reflection meta-data prepared concurrently, on the common ForkJoinPool.
+            //ProjectDataModelOracleBuilder is not thread-safe so it is populated afterwards, in order, from the
+            //prepared meta-data.
+            allClasses.parallelStream().forEach(this::loadClass);
+
+            for (final Map.Entry<String, List<ProjectClass>> e : packageClasses.entrySet()) {
+                pdBuilder.addPackage(e.getKey());
+                for (final ProjectClass projectClass : e.getValue()) {
+                    addClass(projectClass);
+                }
             }
         }
 
@@ -117,14 +139,6 @@ public class ProjectDataModelOracleBuilderProvider {
                                                                   kieModuleMetaData.getPackages());
         }
 
-        private void addClasses(final String packageName,
-                                final Collection<String> classes) {
-            for (final String className : classes) {
-                addClass(packageName,
-                         className);
-            }
-        }
-
         private void addClass(final Import item) {
             try {
                 Class clazz = this.getClass().getClassLoader().loadClass(item.getType());
@@ -139,11 +153,26 @@ public class ProjectDataModelOracleBuilderProvider {
             }
         }
 
-        private void addClass(final String packageName,
-                              final String className) {
+        private void loadClass(final ProjectClass projectClass) {
+            try {
+                final Class clazz = kieModuleMetaData.getClass(projectClass.packageName,
+                                                               projectClass.className);
+                if (clazz != null) {
+                    ClassReflectionCache.warm(clazz);
+                }
+                projectClass.clazz = clazz;
+            } catch (Throwable e) {
+                //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
+                log.debug(e.getMessage());
+            }
+        }
+
+        private void addClass(final ProjectClass projectClass) {
+            final Class clazz = projectClass.clazz;
+            if (clazz == null) {
+                return;
+            }
             try {
-                final Class clazz = kieModuleMetaData.getClass(packageName,
-                                                               className);
                 pdBuilder.addClass(clazz,
                                    kieModuleMetaData.getTypeMetaInfo(clazz).isEvent(),
                                    typeSourceResolver.getTypeSource(clazz));
@@ -157,4 +186,17 @@ public class ProjectDataModelOracleBuilderProvider {
             return importsService.load(project.getImportsPath()).getImports().getImports();
         }
     }
+
+    private static class ProjectClass {
+
+        private final String packageName;
+        private final String className;
+        private volatile Class clazz;
+
+        private ProjectClass(final String packageName,
+                             final String className) {
+            this.packageName = packageName;
+            this.className = className;
+        }
+    }
 }
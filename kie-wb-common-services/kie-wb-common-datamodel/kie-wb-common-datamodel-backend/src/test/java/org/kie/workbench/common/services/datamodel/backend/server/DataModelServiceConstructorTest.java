@@ -77,6 +77,7 @@ import org.kie.workbench.common.services.backend.builder.ala.LocalProjectConfigE
 import org.kie.workbench.common.services.backend.builder.ala.LocalSourceConfigExecutor;
 import org.kie.workbench.common.services.backend.builder.core.BuildHelper;
 import org.kie.workbench.common.services.backend.builder.core.DeploymentVerifier;
+import org.kie.workbench.common.services.backend.builder.core.KieModuleArtifactCache;
 import org.kie.workbench.common.services.backend.builder.core.LRUBuilderCache;
 import org.kie.workbench.common.services.backend.builder.core.LRUPomModelCache;
 import org.kie.workbench.common.services.backend.builder.core.LRUProjectDependenciesClassLoaderCache;
@@ -370,7 +371,8 @@ public class DataModelServiceConstructorTest {
                                                            dependenciesClassLoaderCache,
                                                            pomModelCache,
                                                            packageNameWhiteListService,
-                                                           classFilterBeans
+                                                           classFilterBeans,
+                                                           new KieModuleArtifactCache()
         );
 
         Instance< PostBuildHandler > handlerInstance = mock( Instance.class );
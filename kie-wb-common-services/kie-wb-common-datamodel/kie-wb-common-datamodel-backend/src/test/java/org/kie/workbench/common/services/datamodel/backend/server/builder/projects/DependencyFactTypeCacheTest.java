@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.junit.Test;
+import org.junit.runner.Result;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.PapaSmurf;
+
+import static org.junit.Assert.*;
+
+public class DependencyFactTypeCacheTest {
+
+    @Test
+    public void testKeyForJarClass() {
+        final DependencyFactTypeCache cache = new DependencyFactTypeCache( 10 );
+
+        assertNotNull( cache.getKey( Result.class,
+                                     false ) );
+        assertNotEquals( cache.getKey( Result.class,
+                                       false ),
+                         cache.getKey( Result.class,
+                                       true ) );
+    }
+
+    @Test
+    public void testNoKeyForProjectClass() {
+        final DependencyFactTypeCache cache = new DependencyFactTypeCache( 10 );
+
+        assertNull( cache.getKey( PapaSmurf.class,
+                                  false ) );
+    }
+
+    @Test
+    public void testEviction() {
+        final DependencyFactTypeCache cache = new DependencyFactTypeCache( 1 );
+        cache.put( "a",
+                   new ProjectDataModelOracleImpl() );
+        cache.put( "b",
+                   new ProjectDataModelOracleImpl() );
+
+        assertEquals( 1,
+                      cache.size() );
+        assertNull( cache.get( "a" ) );
+        assertNotNull( cache.get( "b" ) );
+        assertEquals( 1,
+                      cache.getHitCount() );
+        assertEquals( 1,
+                      cache.getMissCount() );
+    }
+
+    @Test
+    public void testDependencyMetaDataIsShared() throws Exception {
+        final ProjectDataModelOracleImpl oracle1 = (ProjectDataModelOracleImpl) ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClass( Result.class,
+                           false,
+                           TypeSource.JAVA_DEPENDENCY )
+                .build();
+        final ProjectDataModelOracleImpl oracle2 = (ProjectDataModelOracleImpl) ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClass( Result.class,
+                           false,
+                           TypeSource.JAVA_DEPENDENCY )
+                .build();
+
+        assertNotNull( oracle1.getProjectModelFields().get( Result.class.getName() ) );
+        assertSame( oracle1.getProjectModelFields().get( Result.class.getName() ),
+                    oracle2.getProjectModelFields().get( Result.class.getName() ) );
+        assertEquals( TypeSource.JAVA_DEPENDENCY,
+                      oracle2.getProjectTypeSources().get( Result.class.getName() ) );
+    }
+}
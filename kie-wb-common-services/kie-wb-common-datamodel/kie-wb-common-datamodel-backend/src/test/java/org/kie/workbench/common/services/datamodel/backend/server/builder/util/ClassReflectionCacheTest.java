@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.builder.util;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * ClassReflectionCache tests
+ */
+public class ClassReflectionCacheTest {
+
+    public static class Parent {
+
+        private String name;
+
+        private String shadowed;
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static class Child extends Parent {
+
+        private int age;
+
+        private int shadowed;
+
+        public int getAge() {
+            return age;
+        }
+    }
+
+    @Test
+    public void testAllFieldsIncludeSuperTypes() {
+        final Map<String, Field> fields = ClassReflectionCache.getAllFields( Child.class );
+
+        assertTrue( fields.containsKey( "name" ) );
+        assertTrue( fields.containsKey( "age" ) );
+        //Super-type fields take precedence, as they did when walking the hierarchy for each class
+        assertEquals( Parent.class,
+                      fields.get( "shadowed" ).getDeclaringClass() );
+    }
+
+    @Test
+    public void testAllMethodsIncludeSuperTypes() {
+        assertTrue( ClassReflectionCache.getAllMethods( Child.class ).containsKey( "getName" ) );
+        assertTrue( ClassReflectionCache.getAllMethods( Child.class ).containsKey( "getAge" ) );
+        assertFalse( ClassReflectionCache.getAllMethods( Parent.class ).containsKey( "getAge" ) );
+    }
+
+    @Test
+    public void testMetaDataIsMemoized() {
+        assertSame( ClassReflectionCache.getDeclaredFields( Child.class ),
+                    ClassReflectionCache.getDeclaredFields( Child.class ) );
+        assertSame( ClassReflectionCache.getAllFields( Parent.class ).get( "name" ),
+                    ClassReflectionCache.getAllFields( Child.class ).get( "name" ) );
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMetaDataIsUnmodifiable() {
+        ClassReflectionCache.getAllFields( Child.class ).clear();
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
+import org.guvnor.common.services.backend.file.FileDiscoveryService;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOPackageCacheEvent;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.model.Package;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LRUDataModelOracleCacheTest {
+
+    private static final String PROJECT1_URI = "file:///project1";
+
+    private static final String PROJECT2_URI = "file:///project2";
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private FileDiscoveryService fileDiscoveryService;
+
+    @Mock
+    private LRUProjectDataModelOracleCache cacheProjects;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private BuildInfoService buildInfoService;
+
+    @Mock
+    private SessionInfo sessionInfo;
+
+    @Mock
+    private KieProject project1;
+
+    @Mock
+    private KieProject project2;
+
+    @Mock
+    private Package project1Package1;
+
+    @Mock
+    private Package project1Package2;
+
+    @Mock
+    private Package project2Package1;
+
+    private Map<Package, Integer> builtOracles = new HashMap<>();
+
+    private TestLRUDataModelOracleCache cache;
+
+    @Before
+    public void setup() {
+        when(project1.getRootPath()).thenReturn(PathFactory.newPath("project1",
+                                                                    PROJECT1_URI));
+        when(project2.getRootPath()).thenReturn(PathFactory.newPath("project2",
+                                                                    PROJECT2_URI));
+
+        cache = new TestLRUDataModelOracleCache();
+
+        cache.assertPackageDataModelOracle(project1,
+                                           project1Package1);
+        cache.assertPackageDataModelOracle(project1,
+                                           project1Package2);
+        cache.assertPackageDataModelOracle(project2,
+                                           project2Package1);
+    }
+
+    @Test
+    public void testCachedOraclesAreReused() {
+        cache.assertPackageDataModelOracle(project1,
+                                           project1Package1);
+
+        assertBuilt(project1Package1,
+                    1);
+        assertEquals(2,
+                     cache.getIndexedPackages(PROJECT1_URI).size());
+        assertEquals(1,
+                     cache.getIndexedPackages(PROJECT2_URI).size());
+    }
+
+    @Test
+    public void testInvalidateProject() {
+        final Path resourcePath = resourcePath(PROJECT1_URI,
+                                               "Person.java");
+        when(projectService.resolveProject(resourcePath)).thenReturn(project1);
+
+        cache.invalidateProjectPackagesCache(new InvalidateDMOProjectCacheEvent(sessionInfo,
+                                                                                project1,
+                                                                                resourcePath));
+
+        assertTrue(cache.getIndexedPackages(PROJECT1_URI).isEmpty());
+        assertEquals(1,
+                     cache.getIndexedPackages(PROJECT2_URI).size());
+
+        assertAllRebuilt(1);
+    }
+
+    @Test
+    public void testInvalidatePackage() {
+        final Path resourcePath = resourcePath(PROJECT1_URI,
+                                               "rule.drl");
+        when(projectService.resolvePackage(resourcePath)).thenReturn(project1Package1);
+
+        cache.invalidatePackageCache(new InvalidateDMOPackageCacheEvent(resourcePath));
+
+        assertFalse(cache.getIndexedPackages(PROJECT1_URI).contains(project1Package1));
+        assertTrue(cache.getIndexedPackages(PROJECT1_URI).contains(project1Package2));
+
+        assertOnlyProject1Package1Rebuilt();
+    }
+
+    @Test
+    public void testInvalidateEnumeration() {
+        checkPackageScopedInvalidation("Colors.enumeration");
+    }
+
+    @Test
+    public void testInvalidateDSL() {
+        checkPackageScopedInvalidation("sentences.dsl");
+    }
+
+    @Test
+    public void testInvalidateGlobals() {
+        checkPackageScopedInvalidation("globals.gdrl");
+    }
+
+    @Test
+    public void testEvictedPackagesArePrunedFromIndex() {
+        cache.evict(project1Package1);
+        cache.evict(project2Package1);
+
+        //The index is pruned when a new Package is cached
+        final Package project2Package2 = mock(Package.class);
+        cache.assertPackageDataModelOracle(project2,
+                                           project2Package2);
+
+        assertFalse(cache.getIndexedPackages(PROJECT1_URI).contains(project1Package1));
+        assertTrue(cache.getIndexedPackages(PROJECT1_URI).contains(project1Package2));
+        assertFalse(cache.getIndexedPackages(PROJECT2_URI).contains(project2Package1));
+        assertTrue(cache.getIndexedPackages(PROJECT2_URI).contains(project2Package2));
+    }
+
+    private void checkPackageScopedInvalidation(final String fileName) {
+        final Path resourcePath = resourcePath(PROJECT1_URI,
+                                               fileName);
+        assertTrue(LRUDataModelOracleCache.isPackageScopedResource(resourcePath));
+
+        when(projectService.resolveProject(resourcePath)).thenReturn(project1);
+        when(projectService.resolvePackage(resourcePath)).thenReturn(project1Package1);
+
+        cache.invalidateProjectPackagesCache(new InvalidateDMOProjectCacheEvent(sessionInfo,
+                                                                                project1,
+                                                                                resourcePath));
+
+        assertFalse(cache.getIndexedPackages(PROJECT1_URI).contains(project1Package1));
+        assertTrue(cache.getIndexedPackages(PROJECT1_URI).contains(project1Package2));
+
+        assertOnlyProject1Package1Rebuilt();
+    }
+
+    private void assertOnlyProject1Package1Rebuilt() {
+        cache.assertPackageDataModelOracle(project1,
+                                           project1Package1);
+        cache.assertPackageDataModelOracle(project1,
+                                           project1Package2);
+        cache.assertPackageDataModelOracle(project2,
+                                           project2Package1);
+
+        assertBuilt(project1Package1,
+                    2);
+        assertBuilt(project1Package2,
+                    1);
+        assertBuilt(project2Package1,
+                    1);
+    }
+
+    private void assertAllRebuilt(final int project2Builds) {
+        cache.assertPackageDataModelOracle(project1,
+                                           project1Package1);
+        cache.assertPackageDataModelOracle(project1,
+                                           project1Package2);
+        cache.assertPackageDataModelOracle(project2,
+                                           project2Package1);
+
+        assertBuilt(project1Package1,
+                    2);
+        assertBuilt(project1Package2,
+                    2);
+        assertBuilt(project2Package1,
+                    project2Builds);
+    }
+
+    private void assertBuilt(final Package pkg,
+                             final int times) {
+        assertEquals(Integer.valueOf(times),
+                     builtOracles.get(pkg));
+    }
+
+    private Path resourcePath(final String projectUri,
+                              final String fileName) {
+        return PathFactory.newPath(fileName,
+                                   projectUri + "/src/main/resources/org/test/" + fileName);
+    }
+
+    private class TestLRUDataModelOracleCache extends LRUDataModelOracleCache {
+
+        TestLRUDataModelOracleCache() {
+            super(ioService,
+                  fileDiscoveryService,
+                  cacheProjects,
+                  projectService,
+                  buildInfoService);
+        }
+
+        @Override
+        protected PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
+                                                                    final Package pkg) {
+            builtOracles.merge(pkg,
+                               1,
+                               Integer::sum);
+            return mock(PackageDataModelOracle.class);
+        }
+
+        //Removes the entry from the LRU cache only, as it happens when it's evicted
+        void evict(final Package pkg) {
+            invalidateCache(pkg);
+        }
+    }
+}
@@ -15,9 +15,18 @@
  */
 package org.kie.workbench.common.services.refactoring.backend.server.indexing;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Named;
 
@@ -47,6 +56,9 @@ public abstract class AbstractFileIndexer implements Indexer {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractFileIndexer.class);
 
+    //Values resolved once per batch, e.g. the Project and Package of a folder, shared by the threads indexing it
+    private static final ThreadLocal<ConcurrentMap<Object, Object>> batchScope = new ThreadLocal<>();
+
     @Inject
     @Named("ioStrategy")
     protected IOService ioService;
@@ -71,6 +83,96 @@ public abstract class AbstractFileIndexer implements Indexer {
      */
     @Override
     public KObject toKObject(Path path) {
+        return buildKObject(path);
+    }
+
+    /**
+     * Indexes a batch of files. Files are grouped by folder, so the Project and Package, and anything else obtained
+     * through {@link #batchScoped(String, Object, Supplier)}, is resolved once per folder rather than once per file.
+     * The folders are indexed in parallel, using the common pool and the caller's context class loader.
+     * </p>
+     * This method should not be overridden by implementation classes!
+     * @param paths The {@link Path}s of the resources to be indexed.
+     * @return The {@link KObject}s of the resources that could be indexed.
+     */
+    public List<KObject> toKObjects(final Collection<Path> paths) {
+        final long start = System.nanoTime();
+        final ConcurrentMap<Object, Object> scope = new ConcurrentHashMap<>();
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final Collection<List<Path>> folders = paths.stream()
+                .collect(Collectors.groupingBy(this::getFolderKey,
+                                               LinkedHashMap::new,
+                                               Collectors.toList()))
+                .values();
+
+        final List<KObject> result = folders
+                .parallelStream()
+                .flatMap(folderPaths -> toKObjectsInScope(folderPaths,
+                                                          scope,
+                                                          contextClassLoader).stream())
+                .collect(Collectors.toList());
+
+        final long duration = System.nanoTime() - start;
+        logger.debug("Indexed " + paths.size() + " file(s) in " + folders.size() + " folder(s) with " +
+                             getClass().getSimpleName() + " in " + TimeUnit.NANOSECONDS.toMillis(duration) + "ms (" +
+                             String.format("%.1f",
+                                           paths.size() / Math.max(duration / 1.0e9,
+                                                                   1.0e-9)) + " files/sec).");
+        return result;
+    }
+
+    /**
+     * Returns a value shared by all files of the batch being indexed by the current thread, computing it on first use.
+     * Outside of a batch the value is always computed.
+     * @param name Name of the value, e.g. "project"
+     * @param key Key of the value within the batch, e.g. the folder or Project it relates to
+     * @param supplier Computes the value; it must not itself call this method
+     * @return The value
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T batchScoped(final String name,
+                                final Object key,
+                                final Supplier<T> supplier) {
+        final ConcurrentMap<Object, Object> scope = batchScope.get();
+        if (scope == null) {
+            return supplier.get();
+        }
+        return (T) scope.computeIfAbsent(Arrays.asList(name,
+                                                       key),
+                                         k -> supplier.get());
+    }
+
+    /**
+     * @return Key of the folder containing the path; all files in a folder belong to the same Project and Package.
+     */
+    protected Object getFolderKey(final Path path) {
+        final Path folder = path.getParent();
+        return folder == null ? "" : folder.toUri().toString();
+    }
+
+    private List<KObject> toKObjectsInScope(final List<Path> paths,
+                                            final ConcurrentMap<Object, Object> scope,
+                                            final ClassLoader contextClassLoader) {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader previousClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(contextClassLoader);
+        batchScope.set(scope);
+        try {
+            final List<KObject> result = new ArrayList<>(paths.size());
+            for (Path path : paths) {
+                final KObject kObject = buildKObject(path);
+                if (kObject != null) {
+                    result.add(kObject);
+                }
+            }
+            return result;
+        } finally {
+            batchScope.remove();
+            thread.setContextClassLoader(previousClassLoader);
+        }
+    }
+
+    private KObject buildKObject(final Path path) {
         KObject index = null;
 
         try {
@@ -99,13 +201,18 @@ public abstract class AbstractFileIndexer implements Indexer {
     }
 
     protected DefaultIndexBuilder getIndexBuilder(Path path) {
-        final Project project = projectService.resolveProject(Paths.convert(path));
+        final Object folderKey = getFolderKey(path);
+        final Project project = batchScoped("project",
+                                            folderKey,
+                                            () -> projectService.resolveProject(Paths.convert(path)));
         if (project == null) {
             logger.error("Unable to index " + path.toUri().toString() + ": project could not be resolved.");
             return null;
         }
 
-        final Package pkg = projectService.resolvePackage(Paths.convert(path));
+        final Package pkg = batchScoped("package",
+                                        folderKey,
+                                        () -> projectService.resolvePackage(Paths.convert(path)));
         if (pkg == null) {
             logger.error("Unable to index " + path.toUri().toString() + ": package could not be resolved.");
             return null;
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexReaderContext;
+import org.apache.lucene.index.SegmentCommitInfo;
+import org.apache.lucene.index.SegmentReader;
+import org.apache.lucene.search.IndexSearcher;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.ext.metadata.search.ClusterSegment;
+
+/**
+ * Size-bounded LRU cache of the results of NamedQueries. Entries are keyed by the query name, the normalized query
+ * terms, the requested range and the cluster segments searched. Each entry records the generation of the index it was
+ * read from, so results are discarded as soon as the index has been committed to and re-opened.
+ */
+public class QueryResultCache {
+
+    public static final String MAX_ENTRIES_PROPERTY = "org.kie.workbench.refactoring.query.cache.size";
+
+    private static final int DEFAULT_MAX_ENTRIES = 500;
+
+    private final int maxEntries;
+
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public QueryResultCache() {
+        this( Integer.getInteger( MAX_ENTRIES_PROPERTY,
+                                  DEFAULT_MAX_ENTRIES ) );
+    }
+
+    QueryResultCache( final int maxEntries ) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<Key, Entry>( 16,
+                                                      0.75f,
+                                                      true ) {
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry<Key, Entry> eldest ) {
+                return size() > QueryResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Builds a key for a query. The order of the terms and segments does not matter.
+     */
+    public static Key key( final String queryName,
+                           final Set<ValueIndexTerm> queryTerms,
+                           final int startIndex,
+                           final int pageSize,
+                           final ClusterSegment... clusterSegments ) {
+        final Set<String> terms = new TreeSet<String>();
+        if ( queryTerms != null ) {
+            for ( ValueIndexTerm term : queryTerms ) {
+                terms.add( term.getTerm() + "\u0000" + term.getValue() + "\u0000" + term.getSearchType() );
+            }
+        }
+        final Set<String> segments = new TreeSet<String>();
+        if ( clusterSegments != null ) {
+            for ( ClusterSegment segment : clusterSegments ) {
+                final String[] segmentIds = segment.segmentIds() == null ? new String[ 0 ] : segment.segmentIds().clone();
+                Arrays.sort( segmentIds );
+                segments.add( segment.getClusterId() + "\u0000" + Arrays.toString( segmentIds ) );
+            }
+        }
+        return new Key( queryName,
+                        terms,
+                        startIndex,
+                        pageSize,
+                        segments );
+    }
+
+    /**
+     * Identifies the point-in-time view of the index the given searcher reads. The generation is made of immutable
+     * values (the version of each index, or the name and generations of each segment) so cached entries don't keep
+     * closed readers reachable. A commit followed by a re-open of the index changes its version, and hence yields a
+     * different generation.
+     */
+    public static Object generationOf( final IndexSearcher searcher ) {
+        final List<Object> generation = new ArrayList<Object>();
+        addGeneration( searcher.getIndexReader().getContext(),
+                       generation );
+        return generation;
+    }
+
+    private static void addGeneration( final IndexReaderContext context,
+                                       final List<Object> generation ) {
+        final IndexReader reader = context.reader();
+        if ( reader instanceof DirectoryReader ) {
+            generation.add( ( (DirectoryReader) reader ).getVersion() );
+        } else if ( reader instanceof SegmentReader ) {
+            final SegmentReader segmentReader = (SegmentReader) reader;
+            final SegmentCommitInfo segmentInfo = segmentReader.getSegmentInfo();
+            generation.add( segmentReader.getSegmentName() + "\u0000" + segmentInfo.getDelGen() + "\u0000" +
+                                    segmentInfo.getFieldInfosGen() + "\u0000" + segmentInfo.getDocValuesGen() );
+        } else if ( context.children() != null ) {
+            for ( IndexReaderContext child : context.children() ) {
+                addGeneration( child,
+                               generation );
+            }
+        } else {
+            //No immutable identity for this reader, so its results can't be reused
+            generation.add( new Object() );
+        }
+    }
+
+    /**
+     * @return The cached results or null if there are none for the key that were read from the given generation.
+     */
+    public List<KObject> get( final Key key,
+                              final Object generation ) {
+        if ( !isEnabled() ) {
+            return null;
+        }
+        synchronized ( entries ) {
+            final Entry entry = entries.get( key );
+            if ( entry != null && entry.generation.equals( generation ) ) {
+                hits.increment();
+                return entry.results;
+            }
+            if ( entry != null ) {
+                entries.remove( key );
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put( final Key key,
+                     final Object generation,
+                     final List<KObject> results ) {
+        if ( !isEnabled() ) {
+            return;
+        }
+        synchronized ( entries ) {
+            entries.put( key,
+                         new Entry( generation,
+                                    Collections.unmodifiableList( new ArrayList<KObject>( results ) ) ) );
+        }
+    }
+
+    public void invalidateCache() {
+        synchronized ( entries ) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized ( entries ) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private static class Entry {
+
+        private final Object generation;
+        private final List<KObject> results;
+
+        private Entry( final Object generation,
+                       final List<KObject> results ) {
+            this.generation = generation;
+            this.results = results;
+        }
+    }
+
+    public static final class Key {
+
+        private final String queryName;
+        private final Set<String> terms;
+        private final int startIndex;
+        private final int pageSize;
+        private final Set<String> segments;
+
+        private Key( final String queryName,
+                     final Set<String> terms,
+                     final int startIndex,
+                     final int pageSize,
+                     final Set<String> segments ) {
+            this.queryName = queryName;
+            this.terms = terms;
+            this.startIndex = startIndex;
+            this.pageSize = pageSize;
+            this.segments = segments;
+        }
+
+        @Override
+        public boolean equals( final Object o ) {
+            if ( this == o ) {
+                return true;
+            }
+            if ( !( o instanceof Key ) ) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return startIndex == key.startIndex &&
+                    pageSize == key.pageSize &&
+                    Objects.equals( queryName,
+                                    key.queryName ) &&
+                    terms.equals( key.terms ) &&
+                    segments.equals( key.segments );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash( queryName,
+                                 terms,
+                                 startIndex,
+                                 pageSize,
+                                 segments );
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency statistics of the executions of a NamedQuery.
+ */
+public class QueryStatistics {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator( Math::max,
+                                                                  0 );
+
+    void record( final long durationNanos ) {
+        count.increment();
+        totalNanos.add( durationNanos );
+        maxNanos.accumulate( durationNanos );
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis( totalNanos.sum() );
+    }
+
+    public long getMaxTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis( maxNanos.get() );
+    }
+
+    public double getAverageTimeMillis() {
+        final long n = count.sum();
+        return n == 0 ? 0 : ( (double) totalNanos.sum() / n ) / TimeUnit.MILLISECONDS.toNanos( 1 );
+    }
+}
@@ -20,9 +20,9 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
-import java.util.function.IntFunction;
-import java.util.function.Supplier;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -47,6 +47,8 @@ import org.kie.workbench.common.services.refactoring.model.query.RefactoringPage
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
 import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
 import org.kie.workbench.common.services.refactoring.service.impact.QueryOperationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.uberfire.ext.metadata.backend.lucene.LuceneConfig;
 import org.uberfire.ext.metadata.backend.lucene.index.LuceneIndexManager;
 import org.uberfire.ext.metadata.model.KObject;
@@ -59,6 +61,14 @@ import static org.uberfire.ext.metadata.backend.lucene.util.KObjectUtil.toKObjec
 @ApplicationScoped
 public class RefactoringQueryServiceImpl implements RefactoringQueryService {
 
+    private static final Logger logger = LoggerFactory.getLogger( RefactoringQueryServiceImpl.class );
+
+    private static final int ALL_HITS = -1;
+
+    private final ConcurrentMap<String, QueryStatistics> queryStatistics = new ConcurrentHashMap<>();
+
+    private final QueryResultCache resultCache = new QueryResultCache();
+
     private LuceneConfig config;
     private NamedQueries namedQueries;
     private PageResponse<RefactoringPageRow> emptyResponse;
@@ -88,6 +98,20 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         return namedQueries.getQueries();
     }
 
+    /**
+     * Latency statistics of the executions of a NamedQuery.
+     * @param queryName Name of the NamedQuery
+     * @return The statistics; never null.
+     */
+    public QueryStatistics getQueryStatistics( final String queryName ) {
+        return queryStatistics.computeIfAbsent( queryName,
+                                                ( name ) -> new QueryStatistics() );
+    }
+
+    public QueryResultCache getQueryResultCache() {
+        return resultCache;
+    }
+
     @Override
     public PageResponse<RefactoringPageRow> query( final RefactoringPageRequest request ) {
         PortablePreconditions.checkNotNull( "request",
@@ -106,11 +130,12 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final int startIndex = request.getStartRowIndex();
 
         final List<KObject> kObjects
-            = search(query,
+            = search(queryName,
+                     request.getQueryTerms(),
+                     query,
                      sort,
-                     () -> ( startIndex ), // start index of docs to get
-                     (numHits) -> ( numHits - startIndex > pageSize ? pageSize : numHits - startIndex ) // num docs to add to response
-                    );
+                     startIndex,
+                     pageSize);
 
         if( ! kObjects.isEmpty() ) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -138,11 +163,12 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final Sort sort = namedQuery.getSortOrder();
 
         final List<KObject> kObjects
-            = search(query,
+            = search(queryName,
+                     queryTerms,
+                     query,
                      sort,
-                     () -> (0), // start index of docs to get
-                     (numHits) -> (numHits) // num docs to add to response
-                    );
+                     0,
+                     ALL_HITS);
 
         if( ! kObjects.isEmpty() ) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -152,39 +178,79 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         }
     }
 
-    private List<KObject> search(final Query query,
+    /**
+     * Executes a query returning the stored documents of the hits in the requested range. Lucene only collects the
+     * top startIndex + pageSize hits, so paging through large result sets does not sort every hit on every request.
+     * Results are served from the {@link QueryResultCache} whilst the index has not changed.
+     * @param queryName Name of the NamedQuery
+     * @param queryTerms Terms the query was built from
+     * @param query The query
+     * @param sort Sort order of the hits
+     * @param startIndex Index of the first hit to return
+     * @param pageSize Maximum number of hits to return, or {@link #ALL_HITS}
+     * @param clusterSegments Segments to search
+     * @return The hits in the requested range
+     */
+    private List<KObject> search(final String queryName,
+                                 final Set<ValueIndexTerm> queryTerms,
+                                 final Query query,
                                  final Sort sort,
-                                 final Supplier<Integer> startIndexSupplier,
-                                 final IntFunction<Integer> numOfHitsToReturnSupplier,
+                                 final int startIndex,
+                                 final int pageSize,
                                  final ClusterSegment... clusterSegments) {
 
+        final long start = System.nanoTime();
         final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
         final IndexSearcher index = indexManager.getIndexSearcher( clusterSegments );
 
-
         final List<KObject> result = new ArrayList<KObject>();
         try {
-            final TotalHitCountCollector totalHitCountCollector = new TotalHitCountCollector();
-            index.search( query,
-                          totalHitCountCollector );
-
-            int numHits = totalHitCountCollector.getTotalHits();
-            if( numHits > 0 ) {
-                final TopFieldDocs docsHit = index.search(query,
-                                                          Integer.MAX_VALUE,
-                                                          sort );
-                final int startIndex = startIndexSupplier.get();
-                final int numOfHitsToReturn = numOfHitsToReturnSupplier.apply(docsHit.totalHits);
-
-                for ( int i = startIndex; i < startIndex+numOfHitsToReturn; i++ ) {
-                    result.add( toKObject( index.doc(docsHit.scoreDocs[ i ].doc) ) );
+            final QueryResultCache.Key key = QueryResultCache.key( queryName,
+                                                                   queryTerms,
+                                                                   startIndex,
+                                                                   pageSize,
+                                                                   clusterSegments );
+            final Object generation = QueryResultCache.generationOf( index );
+            final List<KObject> cachedResult = resultCache.get( key,
+                                                                generation );
+            if ( cachedResult != null ) {
+                result.addAll( cachedResult );
+                return result;
+            }
+
+            final int numHits;
+            if ( pageSize == ALL_HITS ) {
+                //All hits are needed so count them first, to collect exactly that many
+                final TotalHitCountCollector totalHitCountCollector = new TotalHitCountCollector();
+                index.search( query,
+                              totalHitCountCollector );
+                numHits = totalHitCountCollector.getTotalHits();
+            } else {
+                numHits = (int) Math.min( (long) startIndex + pageSize,
+                                          index.getIndexReader().maxDoc() );
+            }
+
+            if ( numHits > startIndex ) {
+                final TopFieldDocs docsHit = index.search( query,
+                                                           numHits,
+                                                           sort );
+                for ( int i = startIndex; i < docsHit.scoreDocs.length; i++ ) {
+                    result.add( toKObject( index.doc( docsHit.scoreDocs[ i ].doc ) ) );
                 }
             }
+            resultCache.put( key,
+                             generation,
+                             result );
         } catch ( final Exception ex ) {
             throw new RuntimeException( "Error during Query!",
                                         ex );
         } finally {
             indexManager.release( index );
+            final long duration = System.nanoTime() - start;
+            getQueryStatistics( queryName ).record( duration );
+            if ( logger.isDebugEnabled() ) {
+                logger.debug( "Query '" + queryName + "' returned " + result.size() + " hit(s) in " + ( duration / 1000000 ) + "ms." );
+            }
         }
 
         return result;
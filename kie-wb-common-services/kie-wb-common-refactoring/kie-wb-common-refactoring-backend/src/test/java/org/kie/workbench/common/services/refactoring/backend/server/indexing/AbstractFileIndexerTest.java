@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class AbstractFileIndexerTest {
+
+    private final AtomicInteger folderResolutions = new AtomicInteger();
+
+    private final AbstractFileIndexer indexer = new AbstractFileIndexer() {
+        @Override
+        protected DefaultIndexBuilder fillIndexBuilder(final Path path) throws Exception {
+            batchScoped("folder",
+                        getFolderKey(path),
+                        folderResolutions::incrementAndGet);
+            return null;
+        }
+
+        @Override
+        public boolean supportsPath(final Path path) {
+            return true;
+        }
+    };
+
+    @Test
+    public void testBatchResolvesOncePerFolder() {
+        final List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            paths.add(mockPath("default://project/src/main/resources/org/test" + (i % 2),
+                               "file" + i + ".drl"));
+        }
+
+        final List<KObject> kObjects = indexer.toKObjects(paths);
+
+        assertEquals(10,
+                     kObjects.size());
+        assertEquals(2,
+                     folderResolutions.get());
+    }
+
+    @Test
+    public void testBatchKeepsCallerContextClassLoader() {
+        final ClassLoader contextClassLoader = new ClassLoader(getClass().getClassLoader()) {
+        };
+        final List<ClassLoader> usedClassLoaders = new ArrayList<>();
+        final AbstractFileIndexer indexer = new AbstractFileIndexer() {
+            @Override
+            protected DefaultIndexBuilder fillIndexBuilder(final Path path) throws Exception {
+                synchronized (usedClassLoaders) {
+                    usedClassLoaders.add(Thread.currentThread().getContextClassLoader());
+                }
+                return null;
+            }
+
+            @Override
+            public boolean supportsPath(final Path path) {
+                return true;
+            }
+        };
+        final List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            paths.add(mockPath("default://project/src/main/resources/org/test" + i,
+                               "file.drl"));
+        }
+
+        final ClassLoader previousClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(contextClassLoader);
+        try {
+            indexer.toKObjects(paths);
+        } finally {
+            Thread.currentThread().setContextClassLoader(previousClassLoader);
+        }
+
+        assertEquals(10,
+                     usedClassLoaders.size());
+        for (ClassLoader usedClassLoader : usedClassLoaders) {
+            assertSame(contextClassLoader,
+                       usedClassLoader);
+        }
+    }
+
+    @Test
+    public void testSingleFileResolvesEveryTime() {
+        final Path path = mockPath("default://project/src/main/resources/org/test",
+                                   "file.drl");
+
+        assertNotNull(indexer.toKObject(path));
+        assertNotNull(indexer.toKObject(path));
+
+        assertEquals(2,
+                     folderResolutions.get());
+    }
+
+    private Path mockPath(final String folderUri,
+                          final String fileName) {
+        final Path folder = mock(Path.class);
+        when(folder.toUri()).thenReturn(URI.create(folderUri));
+        final Path path = mock(Path.class);
+        when(path.getParent()).thenReturn(folder);
+        when(path.toUri()).thenReturn(URI.create(folderUri + "/" + fileName));
+        return path;
+    }
+}
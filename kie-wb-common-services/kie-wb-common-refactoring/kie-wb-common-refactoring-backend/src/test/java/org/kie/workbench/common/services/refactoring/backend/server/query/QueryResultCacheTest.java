@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.Test;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValuePackageNameIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueProjectNameIndexTerm;
+import org.uberfire.ext.metadata.model.KObject;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class QueryResultCacheTest {
+
+    private final List<KObject> results = Arrays.asList( mock( KObject.class ) );
+
+    @Test
+    public void testKeyIgnoresTermOrder() {
+        final Set<ValueIndexTerm> terms1 = new LinkedHashSet<ValueIndexTerm>();
+        terms1.add( new ValueProjectNameIndexTerm( "project" ) );
+        terms1.add( new ValuePackageNameIndexTerm( "org.test" ) );
+        final Set<ValueIndexTerm> terms2 = new LinkedHashSet<ValueIndexTerm>();
+        terms2.add( new ValuePackageNameIndexTerm( "org.test" ) );
+        terms2.add( new ValueProjectNameIndexTerm( "project" ) );
+
+        assertEquals( QueryResultCache.key( "query",
+                                            terms1,
+                                            0,
+                                            10 ),
+                      QueryResultCache.key( "query",
+                                            terms2,
+                                            0,
+                                            10 ) );
+        assertNotEquals( QueryResultCache.key( "query",
+                                               terms1,
+                                               0,
+                                               10 ),
+                         QueryResultCache.key( "query",
+                                               terms1,
+                                               10,
+                                               10 ) );
+        assertNotEquals( QueryResultCache.key( "query",
+                                               terms1,
+                                               0,
+                                               10 ),
+                         QueryResultCache.key( "query",
+                                               new HashSet<ValueIndexTerm>( Arrays.asList( new ValuePackageNameIndexTerm( "org.test",
+                                                                                                                          ValueIndexTerm.TermSearchType.PREFIX ),
+                                                                                           new ValueProjectNameIndexTerm( "project" ) ) ),
+                                               0,
+                                               10 ) );
+    }
+
+    @Test
+    public void testResultsInvalidatedByGeneration() {
+        final QueryResultCache cache = new QueryResultCache( 10 );
+        final QueryResultCache.Key key = QueryResultCache.key( "query",
+                                                               new HashSet<ValueIndexTerm>(),
+                                                               0,
+                                                               10 );
+        final Object generation1 = new Object();
+        final Object generation2 = new Object();
+
+        assertNull( cache.get( key,
+                               generation1 ) );
+        cache.put( key,
+                   generation1,
+                   results );
+
+        assertEquals( results,
+                      cache.get( key,
+                                 generation1 ) );
+        assertNull( cache.get( key,
+                               generation2 ) );
+        assertEquals( 0,
+                      cache.size() );
+        assertEquals( 1,
+                      cache.getHitCount() );
+        assertEquals( 2,
+                      cache.getMissCount() );
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResultsEvicted() {
+        final QueryResultCache cache = new QueryResultCache( 2 );
+        final Object generation = new Object();
+        final QueryResultCache.Key key1 = QueryResultCache.key( "query1",
+                                                                null,
+                                                                0,
+                                                                10 );
+        final QueryResultCache.Key key2 = QueryResultCache.key( "query2",
+                                                                null,
+                                                                0,
+                                                                10 );
+        final QueryResultCache.Key key3 = QueryResultCache.key( "query3",
+                                                                null,
+                                                                0,
+                                                                10 );
+
+        cache.put( key1,
+                   generation,
+                   results );
+        cache.put( key2,
+                   generation,
+                   results );
+        cache.get( key1,
+                   generation );
+        cache.put( key3,
+                   generation,
+                   results );
+
+        assertEquals( 2,
+                      cache.size() );
+        assertNotNull( cache.get( key1,
+                                  generation ) );
+        assertNull( cache.get( key2,
+                               generation ) );
+        assertNotNull( cache.get( key3,
+                                  generation ) );
+    }
+
+    @Test
+    public void testDisabled() {
+        final QueryResultCache cache = new QueryResultCache( 0 );
+        final QueryResultCache.Key key = QueryResultCache.key( "query",
+                                                               null,
+                                                               0,
+                                                               10 );
+        final Object generation = new Object();
+
+        cache.put( key,
+                   generation,
+                   results );
+
+        assertFalse( cache.isEnabled() );
+        assertNull( cache.get( key,
+                               generation ) );
+    }
+
+    @Test
+    public void testGenerationOfIndex() throws Exception {
+        final Directory directory = new RAMDirectory();
+        try ( final IndexWriter writer = new IndexWriter( directory,
+                                                          new IndexWriterConfig( new KeywordAnalyzer() ) ) ) {
+            writer.addDocument( newDocument( "1" ) );
+            writer.commit();
+
+            final DirectoryReader reader1 = DirectoryReader.open( directory );
+            final Object generation1 = QueryResultCache.generationOf( new IndexSearcher( reader1 ) );
+
+            assertEquals( generation1,
+                          QueryResultCache.generationOf( new IndexSearcher( reader1 ) ) );
+            //The generation does not reference the readers, so it doesn't keep them open once evicted
+            for ( Object value : (List<?>) generation1 ) {
+                assertFalse( value instanceof IndexReader );
+            }
+
+            writer.addDocument( newDocument( "2" ) );
+            writer.commit();
+
+            final DirectoryReader reader2 = DirectoryReader.openIfChanged( reader1 );
+            assertNotNull( reader2 );
+            reader1.close();
+
+            assertNotEquals( generation1,
+                             QueryResultCache.generationOf( new IndexSearcher( reader2 ) ) );
+            reader2.close();
+        }
+    }
+
+    private Document newDocument( final String id ) {
+        final Document document = new Document();
+        document.add( new StringField( "id",
+                                       id,
+                                       Field.Store.YES ) );
+        return document;
+    }
+}
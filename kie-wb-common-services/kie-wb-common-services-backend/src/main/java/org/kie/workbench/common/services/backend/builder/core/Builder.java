@@ -27,6 +27,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 import org.appformer.maven.support.DependencyFilter;
@@ -85,6 +86,11 @@ public class Builder implements Serializable {
 
     private static final Logger logger = LoggerFactory.getLogger( Builder.class );
 
+    /**
+     * System property to verify the classes of a full build concurrently, on the common ForkJoinPool. Disabled by default.
+     */
+    public static final String BUILD_PARALLEL_PROPERTY = "org.kie.workbench.build.parallel";
+
     private final static String ERROR_CLASS_NOT_FOUND = "Definition of class \"{0}\" was not found.\n" +
             "Please check the necessary external dependencies for this project are configured correctly.";
 
@@ -117,6 +123,11 @@ public class Builder implements Serializable {
 
     private final Predicate<String> classFilter;
 
+    private final KieModuleArtifactCache artifactCache;
+    //KieModule restored from the artifact cache; only used until the first full build
+    private KieModuleArtifactCache.Entry cachedEntry;
+    private boolean artifactCacheChecked;
+
     public Builder( final Project project,
                     final IOService ioService,
                     final KieProjectService projectService,
@@ -128,6 +139,32 @@ public class Builder implements Serializable {
                     final Predicate<String> classFilter,
                     final KieBuilder kieBuilder,
                     final KieFileSystem kieFileSystem ) {
+        this( project,
+              ioService,
+              projectService,
+              importsService,
+              buildValidationHelpers,
+              dependenciesClassLoaderCache,
+              pomModelCache,
+              packageNameWhiteListService,
+              classFilter,
+              kieBuilder,
+              kieFileSystem,
+              null );
+    }
+
+    public Builder( final Project project,
+                    final IOService ioService,
+                    final KieProjectService projectService,
+                    final ProjectImportsService importsService,
+                    final List<BuildValidationHelper> buildValidationHelpers,
+                    final LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                    final LRUPomModelCache pomModelCache,
+                    final PackageNameWhiteListService packageNameWhiteListService,
+                    final Predicate<String> classFilter,
+                    final KieBuilder kieBuilder,
+                    final KieFileSystem kieFileSystem,
+                    final KieModuleArtifactCache artifactCache ) {
         this.project = project;
         this.ioService = ioService;
         this.projectService = projectService;
@@ -144,6 +181,7 @@ public class Builder implements Serializable {
         this.kieFileSystem = kieFileSystem;
         this.dependenciesClassLoaderCache = dependenciesClassLoaderCache;
         this.pomModelCache = pomModelCache;
+        this.artifactCache = artifactCache;
 
         DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream = Files.newDirectoryStream( projectRoot );
         visitPaths( directoryStream );
@@ -171,6 +209,30 @@ public class Builder implements Serializable {
               KieServices.Factory.get().newKieFileSystem() );
     }
 
+    public Builder( final Project project,
+                    final IOService ioService,
+                    final KieProjectService projectService,
+                    final ProjectImportsService importsService,
+                    final List<BuildValidationHelper> buildValidationHelpers,
+                    final LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                    final LRUPomModelCache pomModelCache,
+                    final PackageNameWhiteListService packageNameWhiteListService,
+                    final Predicate<String> classFilter,
+                    final KieModuleArtifactCache artifactCache ) {
+        this( project,
+              ioService,
+              projectService,
+              importsService,
+              buildValidationHelpers,
+              dependenciesClassLoaderCache,
+              pomModelCache,
+              packageNameWhiteListService,
+              classFilter,
+              null,
+              KieServices.Factory.get().newKieFileSystem(),
+              artifactCache );
+    }
+
     public Builder clone() {
         final KieFileSystem kieFileSystemClone = kieFileSystemClone();
         final KieBuilderImpl kieBuilder = kieBuilderClone( kieFileSystemClone );
@@ -185,7 +247,8 @@ public class Builder implements Serializable {
                             packageNameWhiteListService,
                             classFilter,
                             kieBuilder,
-                            kieFileSystemClone );
+                            kieFileSystemClone,
+                            artifactCache );
     }
 
     private KieFileSystem kieFileSystemClone() {
@@ -208,13 +271,16 @@ public class Builder implements Serializable {
         synchronized ( kieFileSystem ) {
             //KieBuilder is not re-usable for successive "full" builds
             kieBuilder = createKieBuilder( kieFileSystem );
+            cachedEntry = null;
 
             //Record RTEs from KieBuilder - that can fail if a rule uses an inaccessible class
             final BuildResults results = new BuildResults( projectGAV );
+            boolean clean = false;
             try {
                 final Results kieResults = ( (InternalKieBuilder) kieBuilder ).buildAll( classFilter ).getResults();
                 results.addAllBuildMessages( convertMessages( kieResults.getMessages(),
                                                               handles ) );
+                clean = kieResults.getMessages().isEmpty();
 
             } catch ( LinkageError e ) {
                 final String msg = MessageFormat.format( ERROR_CLASS_NOT_FOUND,
@@ -235,48 +301,73 @@ public class Builder implements Serializable {
                 }
             }
 
-            //Add validate messages from external helpers
-            for ( Map.Entry<Path, BuildValidationHelper> e : nonKieResourceValidationHelpers.entrySet() ) {
-                final org.uberfire.backend.vfs.Path vfsPath = Paths.convert( e.getKey() );
-                final List<ValidationMessage> validationMessages = e.getValue().validate( vfsPath );
-                nonKieResourceValidationHelperMessages.put( e.getKey(),
-                                                            validationMessages );
-                results.addAllBuildMessages( convertValidationMessages( validationMessages ) );
-            }
+            final KieModuleMetaData kieModuleMetaData = buildPostCompilationPhases( results );
 
-            //Check external imports are available. These are loaded when a DMO is requested, but it's better to report them early
-            final Path nioExternalImportsPath = projectRoot.resolve( "project.imports" );
-            if ( Files.exists( nioExternalImportsPath ) ) {
-                final org.uberfire.backend.vfs.Path externalImportsPath = Paths.convert( nioExternalImportsPath );
-                final ProjectImports projectImports = importsService.load( externalImportsPath );
-                final Imports imports = projectImports.getImports();
-                for ( final Import item : imports.getImports() ) {
-                    final String fullyQualifiedClassName = item.getType();
-                    try {
-                        Class clazz = this.getClass().getClassLoader().loadClass( item.getType() );
-
-                    } catch ( ClassNotFoundException cnfe ) {
-                        logger.warn( cnfe.getMessage() );
-                        final String msg = MessageFormat.format( ERROR_CLASS_NOT_FOUND,
-                                                                 fullyQualifiedClassName );
-                        results.addBuildMessage( makeWarningMessage( msg ) );
-                    }
-                }
+            //Only clean builds are persisted, as messages are not restored from the artifact cache
+            if ( clean && artifactCache != null && artifactCache.isEnabled() ) {
+                artifactCache.store( project,
+                                     artifactCache.computeKey( kieFileSystem ),
+                                     kieBuilder.getKieModule(),
+                                     kieModuleMetaData );
             }
 
-            //At the end we are interested to ensure that external .jar files referenced as dependencies don't have
-            // referential inconsistencies. We will at least provide a basic algorithm to ensure that if an external class
-            // X references another external class Y, Y is also accessible by the class loader.
-            final KieModuleMetaData kieModuleMetaData = getKieModuleMetaDataIgnoringErrors();
+            return results;
+        }
+    }
+
+    private KieModuleMetaData buildPostCompilationPhases( final BuildResults results ) {
+        //Add validate messages from external helpers
+        for ( Map.Entry<Path, BuildValidationHelper> e : nonKieResourceValidationHelpers.entrySet() ) {
+            final org.uberfire.backend.vfs.Path vfsPath = Paths.convert( e.getKey() );
+            final List<ValidationMessage> validationMessages = e.getValue().validate( vfsPath );
+            nonKieResourceValidationHelperMessages.put( e.getKey(),
+                                                        validationMessages );
+            results.addAllBuildMessages( convertValidationMessages( validationMessages ) );
+        }
 
-            //store the project dependencies ClassLoader for optimization purposes.
-            updateDependenciesClassLoader( project,
-                                           kieModuleMetaData );
+        //Check external imports are available. These are loaded when a DMO is requested, but it's better to report them early
+        results.addAllBuildMessages( verifyExternalImports() );
 
-            results.addAllBuildMessages( verifyClasses( kieModuleMetaData ) );
+        //At the end we are interested to ensure that external .jar files referenced as dependencies don't have
+        // referential inconsistencies. We will at least provide a basic algorithm to ensure that if an external class
+        // X references another external class Y, Y is also accessible by the class loader.
+        final KieModuleMetaData kieModuleMetaData = getKieModuleMetaDataIgnoringErrors();
 
-            return results;
+        //store the project dependencies ClassLoader for optimization purposes.
+        updateDependenciesClassLoader( project,
+                                       kieModuleMetaData );
+
+        results.addAllBuildMessages( verifyClasses( kieModuleMetaData ) );
+
+        return kieModuleMetaData;
+    }
+
+    private List<BuildMessage> verifyExternalImports() {
+        final List<BuildMessage> messages = new ArrayList<BuildMessage>();
+        final Path nioExternalImportsPath = projectRoot.resolve( "project.imports" );
+        if ( Files.exists( nioExternalImportsPath ) ) {
+            final org.uberfire.backend.vfs.Path externalImportsPath = Paths.convert( nioExternalImportsPath );
+            final ProjectImports projectImports = importsService.load( externalImportsPath );
+            final Imports imports = projectImports.getImports();
+            for ( final Import item : imports.getImports() ) {
+                final String fullyQualifiedClassName = item.getType();
+                try {
+                    Class clazz = this.getClass().getClassLoader().loadClass( item.getType() );
+
+                } catch ( ClassNotFoundException cnfe ) {
+                    logger.warn( cnfe.getMessage() );
+                    final String msg = MessageFormat.format( ERROR_CLASS_NOT_FOUND,
+                                                             fullyQualifiedClassName );
+                    messages.add( makeWarningMessage( msg ) );
+                }
+            }
         }
+        return messages;
+    }
+
+    private static boolean isParallelBuild() {
+        return Boolean.parseBoolean( System.getProperty( BUILD_PARALLEL_PROPERTY,
+                                                         "false" ) );
     }
 
     public BuildResults build( Path resource,
@@ -292,8 +383,15 @@ public class Builder implements Serializable {
     }
 
     private List<BuildMessage> verifyClasses( KieModuleMetaData kieModuleMetaData ) {
-        return new ClassVerifier( kieModuleMetaData,
-                                  getTypeSourceResolver( kieModuleMetaData ) ).verify( getWhiteList( kieModuleMetaData ) );
+        final ClassVerifier classVerifier = new ClassVerifier( kieModuleMetaData,
+                                                               getTypeSourceResolver( kieModuleMetaData ) );
+        final WhiteList whiteList = getWhiteList( kieModuleMetaData );
+        //Only class verification runs concurrently; BuildValidationHelpers are always called on the building thread
+        if ( isParallelBuild() ) {
+            return classVerifier.verify( whiteList,
+                                         ForkJoinPool.commonPool() );
+        }
+        return classVerifier.verify( whiteList );
     }
 
     private WhiteList getWhiteList( final KieModuleMetaData kieModuleMetaData ) {
@@ -566,8 +664,12 @@ public class Builder implements Serializable {
     }
 
     public KieModule getKieModule() {
-        //Kie classes are only available once built
+        //Kie classes are only available once built, or restored from the artifact cache
         if ( !isBuilt() ) {
+            final KieModule kieModule = getCachedKieModule();
+            if ( kieModule != null ) {
+                return kieModule;
+            }
             build();
         }
         synchronized ( kieFileSystem ) {
@@ -576,8 +678,12 @@ public class Builder implements Serializable {
     }
 
     public KieModule getKieModuleIgnoringErrors() {
-        //Kie classes are only available once built
+        //Kie classes are only available once built, or restored from the artifact cache
         if ( !isBuilt() ) {
+            final KieModule kieModule = getCachedKieModule();
+            if ( kieModule != null ) {
+                return kieModule;
+            }
             build();
         }
         synchronized ( kieFileSystem ) {
@@ -585,7 +691,39 @@ public class Builder implements Serializable {
         }
     }
 
+    private KieModule getCachedKieModule() {
+        final KieModuleArtifactCache.Entry entry = getCachedEntry();
+        return entry == null ? null : entry.getKieModule();
+    }
+
+    private KieModuleArtifactCache.Entry getCachedEntry() {
+        if ( artifactCache == null || !artifactCache.isEnabled() ) {
+            return null;
+        }
+        synchronized ( kieFileSystem ) {
+            //The KieFileSystem only changes outside of a full build once the Project has been built
+            if ( !artifactCacheChecked && kieBuilder == null ) {
+                artifactCacheChecked = true;
+                cachedEntry = artifactCache.load( project,
+                                                  artifactCache.computeKey( kieFileSystem ) );
+                if ( cachedEntry != null ) {
+                    //Same set up as a full build, as the restored KieModule is used in its place
+                    updateDependenciesClassLoader( project,
+                                                   cachedEntry.getKieModuleMetaData() );
+                }
+            }
+            return cachedEntry;
+        }
+    }
+
     public KieModuleMetaData getKieModuleMetaDataIgnoringErrors() {
+        //The KieModuleMetaData of a KieModule restored from the artifact cache is computed when it's restored
+        if ( !isBuilt() ) {
+            final KieModuleArtifactCache.Entry entry = getCachedEntry();
+            if ( entry != null ) {
+                return entry.getKieModuleMetaData();
+            }
+        }
         return KieModuleMetaData.Factory.newKieModuleMetaData( getKieModuleIgnoringErrors(),
                                                                DependencyFilter.COMPILE_FILTER );
 
@@ -18,6 +18,7 @@ package org.kie.workbench.common.services.backend.builder.core;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.drools.workbench.models.datamodel.oracle.TypeSource;
 import org.guvnor.common.services.project.builder.model.BuildMessage;
@@ -26,6 +27,7 @@ import org.kie.workbench.common.services.shared.whitelist.WhiteList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static java.util.stream.Collectors.toList;
 import static org.kie.workbench.common.services.backend.builder.core.BuildMessageBuilder.*;
 
 public class ClassVerifier {
@@ -38,8 +40,6 @@ public class ClassVerifier {
     private final TypeSourceResolver typeSourceResolver;
     private final KieModuleMetaData kieModuleMetaData;
 
-    private final List<BuildMessage> buildMessages = new ArrayList<BuildMessage>();
-
     public ClassVerifier( final KieModuleMetaData kieModuleMetaData,
                           final TypeSourceResolver typeSourceResolver ) {
         this.kieModuleMetaData = kieModuleMetaData;
@@ -47,20 +47,46 @@ public class ClassVerifier {
     }
 
     public List<BuildMessage> verify( WhiteList whiteList ) {
-
+        final List<BuildMessage> buildMessages = new ArrayList<BuildMessage>();
         for (final String packageName : kieModuleMetaData.getPackages()) {
             if ( whiteList.contains( packageName ) ) {
-                for (final String className : kieModuleMetaData.getClasses( packageName )) {
-                    verifyClass( packageName,
-                                 className );
-                }
+                buildMessages.addAll( verifyPackage( packageName ) );
             }
         }
         return buildMessages;
     }
 
+    /**
+     * Verifies the classes of each white-listed package concurrently on the given pool. Messages are
+     * returned in the same order as the sequential {@link #verify(WhiteList)}.
+     */
+    public List<BuildMessage> verify( final WhiteList whiteList,
+                                      final ForkJoinPool pool ) {
+        final List<String> packageNames = kieModuleMetaData.getPackages()
+                .stream()
+                .filter( whiteList::contains )
+                .collect( toList() );
+
+        return pool.submit( () -> packageNames
+                .parallelStream()
+                .map( this::verifyPackage )
+                .flatMap( List::stream )
+                .collect( toList() ) ).join();
+    }
+
+    private List<BuildMessage> verifyPackage( final String packageName ) {
+        final List<BuildMessage> buildMessages = new ArrayList<BuildMessage>();
+        for (final String className : kieModuleMetaData.getClasses( packageName )) {
+            verifyClass( packageName,
+                         className,
+                         buildMessages );
+        }
+        return buildMessages;
+    }
+
     private void verifyClass( final String packageName,
-                              final String className ) {
+                              final String className,
+                              final List<BuildMessage> buildMessages ) {
 
         try {
             final Class clazz = kieModuleMetaData.getClass( packageName,
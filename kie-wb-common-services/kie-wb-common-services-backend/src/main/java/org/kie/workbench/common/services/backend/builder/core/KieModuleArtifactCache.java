@@ -0,0 +1,319 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.appformer.maven.support.DependencyFilter;
+import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
+import org.drools.compiler.kie.builder.impl.KieFileSystemImpl;
+import org.drools.compiler.kie.builder.impl.MemoryKieModule;
+import org.drools.compiler.kproject.models.KieModuleModelImpl;
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.Project;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.KieModule;
+import org.kie.api.builder.model.KieModuleModel;
+import org.kie.scanner.KieModuleMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent, local cache of compiled KieModules. Entries are keyed by a hash of the content of the Project's
+ * KieFileSystem (pom.xml, kmodule.xml, project.imports, sources and resources) and by a hash of the Project's resolved
+ * dependencies, so a Builder can answer requests for its KieModule after a server restart without recompiling the
+ * Project. The KieModuleMetaData is recomputed from the restored KieModule, which resolves the dependencies again but
+ * does not require compilation; an entry built against dependencies that have since changed (e.g. a new SNAPSHOT) is
+ * discarded. Entries of a Project are removed when the Project is deleted. The cache is disabled unless the system
+ * property {@link #CACHE_DIR_PROPERTY} points to a writable directory.
+ */
+@ApplicationScoped
+public class KieModuleArtifactCache {
+
+    public static final String CACHE_DIR_PROPERTY = "org.kie.workbench.build.artifact.cache.dir";
+
+    private static final Logger logger = LoggerFactory.getLogger( KieModuleArtifactCache.class );
+
+    private static final String ARTIFACT_EXTENSION = ".jar";
+
+    private final Path cacheDir;
+
+    public KieModuleArtifactCache() {
+        this( System.getProperty( CACHE_DIR_PROPERTY ) );
+    }
+
+    public KieModuleArtifactCache( final String cacheDir ) {
+        this.cacheDir = ( cacheDir == null || cacheDir.trim().isEmpty() ) ? null : Paths.get( cacheDir );
+    }
+
+    public boolean isEnabled() {
+        return cacheDir != null;
+    }
+
+    /**
+     * Calculates the key of the KieModule that would be built from the given KieFileSystem.
+     * @param kieFileSystem The Project's KieFileSystem
+     * @return A hex encoded SHA-256 hash of the names and content of all files in the KieFileSystem
+     */
+    public String computeKey( final KieFileSystem kieFileSystem ) {
+        final MemoryFileSystem mfs = ( (KieFileSystemImpl) kieFileSystem ).getMfs();
+        final List<String> fileNames = new ArrayList<String>( mfs.getFileNames() );
+        Collections.sort( fileNames );
+        try {
+            final MessageDigest digest = MessageDigest.getInstance( "SHA-256" );
+            for ( String fileName : fileNames ) {
+                final byte[] bytes = mfs.getBytes( fileName );
+                digest.update( fileName.getBytes( StandardCharsets.UTF_8 ) );
+                digest.update( (byte) 0 );
+                if ( bytes != null ) {
+                    digest.update( bytes );
+                }
+                digest.update( (byte) 0 );
+            }
+            return toHex( digest.digest() );
+        } catch ( NoSuchAlgorithmException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    /**
+     * Calculates the key of the dependencies a KieModule was built against.
+     * @param kieModuleMetaData The KieModule's KieModuleMetaData
+     * @return A hex encoded SHA-256 hash of the location, size and last modification time of each dependency artifact.
+     * The location of an artifact in the Maven repository identifies its GAV.
+     */
+    public String computeDependenciesKey( final KieModuleMetaData kieModuleMetaData ) {
+        //By construction the parent of the KieModuleMetaData's ClassLoader holds the Project dependencies
+        final ClassLoader dependenciesClassLoader = kieModuleMetaData.getClassLoader().getParent();
+        final List<String> dependencies = new ArrayList<String>();
+        if ( dependenciesClassLoader instanceof URLClassLoader ) {
+            for ( URL url : ( (URLClassLoader) dependenciesClassLoader ).getURLs() ) {
+                dependencies.add( toDependencyEntry( url ) );
+            }
+        }
+        Collections.sort( dependencies );
+        try {
+            final MessageDigest digest = MessageDigest.getInstance( "SHA-256" );
+            for ( String dependency : dependencies ) {
+                digest.update( dependency.getBytes( StandardCharsets.UTF_8 ) );
+                digest.update( (byte) 0 );
+            }
+            return toHex( digest.digest() );
+        } catch ( NoSuchAlgorithmException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    /**
+     * Restores a KieModule previously stored for the given Project and key. Entries built against dependencies that
+     * differ from the ones the restored KieModule now resolves are removed.
+     * @param project The Project
+     * @param key Key, as calculated by {@link #computeKey(KieFileSystem)}
+     * @return The KieModule and its KieModuleMetaData or null if the cache is disabled, or holds no valid entry for the key.
+     */
+    public Entry load( final Project project,
+                       final String key ) {
+        if ( !isEnabled() || !Files.isDirectory( cacheDir ) ) {
+            return null;
+        }
+        final GAV gav = project.getPom().getGav();
+        final String prefix = toFileNamePrefix( project ) + key + "_";
+        try ( DirectoryStream<Path> artifacts = Files.newDirectoryStream( cacheDir,
+                                                                          prefix + "*" + ARTIFACT_EXTENSION ) ) {
+            for ( Path artifact : artifacts ) {
+                final Entry entry = restore( gav,
+                                             artifact );
+                final String fileName = artifact.getFileName().toString();
+                final String dependenciesKey = fileName.substring( prefix.length(),
+                                                                   fileName.length() - ARTIFACT_EXTENSION.length() );
+                if ( entry != null && dependenciesKey.equals( computeDependenciesKey( entry.getKieModuleMetaData() ) ) ) {
+                    return entry;
+                }
+                logger.info( "Cached KieModule '" + artifact + "' is stale. The Project will be rebuilt." );
+                Files.deleteIfExists( artifact );
+            }
+        } catch ( IOException e ) {
+            logger.warn( "Unable to read the KieModule artifact cache '" + cacheDir + "'.",
+                         e );
+        }
+        return null;
+    }
+
+    private Entry restore( final GAV gav,
+                           final Path artifact ) {
+        try {
+            final MemoryFileSystem mfs = MemoryFileSystem.readFromJar( Files.readAllBytes( artifact ) );
+            final byte[] kModuleXml = mfs.getBytes( KieModuleModelImpl.KMODULE_JAR_PATH );
+            final KieModuleModel kModuleModel = kModuleXml == null ? KieServices.Factory.get().newKieModuleModel() : KieModuleModelImpl.fromXML( new ByteArrayInputStream( kModuleXml ) );
+            final KieModule kieModule = new MemoryKieModule( KieServices.Factory.get().newReleaseId( gav.getGroupId(),
+                                                                                                    gav.getArtifactId(),
+                                                                                                    gav.getVersion() ),
+                                                             kModuleModel,
+                                                             mfs );
+            return new Entry( kieModule,
+                              KieModuleMetaData.Factory.newKieModuleMetaData( kieModule,
+                                                                              DependencyFilter.COMPILE_FILTER ) );
+        } catch ( Exception e ) {
+            logger.warn( "Unable to restore cached KieModule '" + artifact + "'. The Project will be rebuilt.",
+                         e );
+            return null;
+        }
+    }
+
+    /**
+     * Stores a compiled KieModule for the given Project and key, replacing any entry stored for the Project with a
+     * different key. Only in-memory KieModules, as produced by the Builder, are stored.
+     * @param project The Project
+     * @param key Key, as calculated by {@link #computeKey(KieFileSystem)}
+     * @param kieModule The compiled KieModule
+     * @param kieModuleMetaData The compiled KieModule's KieModuleMetaData, used to identify its dependencies
+     */
+    public void store( final Project project,
+                       final String key,
+                       final KieModule kieModule,
+                       final KieModuleMetaData kieModuleMetaData ) {
+        if ( !isEnabled() || !( kieModule instanceof MemoryKieModule ) ) {
+            return;
+        }
+        final String fileName = toFileNamePrefix( project ) + key + "_" + computeDependenciesKey( kieModuleMetaData ) + ARTIFACT_EXTENSION;
+        final Path artifact = cacheDir.resolve( fileName );
+        if ( Files.exists( artifact ) ) {
+            return;
+        }
+        try {
+            Files.createDirectories( cacheDir );
+            final Path tmp = Files.createTempFile( cacheDir,
+                                                   fileName,
+                                                   ".tmp" );
+            Files.write( tmp,
+                         ( (MemoryKieModule) kieModule ).getMemoryFileSystem().writeAsBytes() );
+            Files.move( tmp,
+                        artifact,
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE );
+            evictStaleArtifacts( project,
+                                 fileName );
+        } catch ( IOException e ) {
+            logger.warn( "Unable to store compiled KieModule '" + artifact + "'.",
+                         e );
+        }
+    }
+
+    public void onProjectDeleted( @Observes final DeleteProjectEvent event ) {
+        final Project project = event.getProject();
+        if ( !isEnabled() || project == null || project.getRootPath() == null || !Files.isDirectory( cacheDir ) ) {
+            return;
+        }
+        try {
+            evictStaleArtifacts( project,
+                                 null );
+        } catch ( IOException e ) {
+            logger.warn( "Unable to remove the cached KieModules of deleted Project '" + project.getRootPath().toURI() + "'.",
+                         e );
+        }
+    }
+
+    private void evictStaleArtifacts( final Project project,
+                                      final String currentFileName ) throws IOException {
+        //Artifacts of the Project stored under a former GAV are evicted too
+        final String prefix = toProjectFileNamePrefix( project );
+        try ( DirectoryStream<Path> artifacts = Files.newDirectoryStream( cacheDir,
+                                                                          prefix + "*" + ARTIFACT_EXTENSION ) ) {
+            for ( Path artifact : artifacts ) {
+                if ( !artifact.getFileName().toString().equals( currentFileName ) ) {
+                    Files.deleteIfExists( artifact );
+                }
+            }
+        }
+    }
+
+    private String toFileNamePrefix( final Project project ) {
+        final GAV gav = project.getPom().getGav();
+        final String gavPrefix = ( gav.getGroupId() + "_" + gav.getArtifactId() + "_" + gav.getVersion() + "_" ).replaceAll( "[^A-Za-z0-9._-]",
+                                                                                                                         "_" );
+        return toProjectFileNamePrefix( project ) + gavPrefix;
+    }
+
+    private String toProjectFileNamePrefix( final Project project ) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance( "SHA-256" );
+            return toHex( digest.digest( project.getRootPath().toURI().getBytes( StandardCharsets.UTF_8 ) ) ).substring( 0,
+                                                                                                                      16 ) + "_";
+        } catch ( NoSuchAlgorithmException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    private static String toDependencyEntry( final URL url ) {
+        try {
+            final Path file = Paths.get( url.toURI() );
+            return url.toExternalForm() + "|" + Files.size( file ) + "|" + Files.getLastModifiedTime( file ).toMillis();
+        } catch ( Exception e ) {
+            //Not a local file, or not readable; its location is all that identifies it
+            return url.toExternalForm();
+        }
+    }
+
+    private static String toHex( final byte[] bytes ) {
+        final StringBuilder sb = new StringBuilder( bytes.length * 2 );
+        for ( byte b : bytes ) {
+            sb.append( String.format( "%02x",
+                                      b ) );
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A KieModule restored from the cache, with its KieModuleMetaData.
+     */
+    public static class Entry {
+
+        private final KieModule kieModule;
+        private final KieModuleMetaData kieModuleMetaData;
+
+        Entry( final KieModule kieModule,
+               final KieModuleMetaData kieModuleMetaData ) {
+            this.kieModule = kieModule;
+            this.kieModuleMetaData = kieModuleMetaData;
+        }
+
+        public KieModule getKieModule() {
+            return kieModule;
+        }
+
+        public KieModuleMetaData getKieModuleMetaData() {
+            return kieModuleMetaData;
+        }
+    }
+}
@@ -16,7 +16,15 @@
 package org.kie.workbench.common.services.backend.builder.core;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -38,17 +46,23 @@ import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
 import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
 import org.uberfire.commons.validation.PortablePreconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.uberfire.io.IOService;
 
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.StreamSupport.stream;
 
 /**
- * A simple LRU cache for Builders
+ * A simple LRU cache for Builders. Access to the LRU cache itself is guarded by the cache monitor, but Builders are
+ * constructed outside of it so that building one Project does not block callers interested in other Projects;
+ * concurrent callers for the same Project wait for the single construction in progress.
  */
 @ApplicationScoped
 public class LRUBuilderCache extends LRUCache<Project, Builder > {
 
+    private static final Logger logger = LoggerFactory.getLogger( LRUBuilderCache.class );
+
     private IOService ioService;
 
     private KieProjectService projectService;
@@ -65,10 +79,16 @@ public class LRUBuilderCache extends LRUCache<Project, Builder > {
 
     private Instance<Predicate<String>> classFilterBeans;
 
+    private KieModuleArtifactCache artifactCache;
+
     private final List<BuildValidationHelper> buildValidationHelpers = new ArrayList<>();
 
     private final List<Predicate<String>> classFilters = new ArrayList<>();
 
+    private final ConcurrentMap<Project, FutureTask<Builder>> pendingBuilders = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Project, LongAdder> projectLockWaitTimes = new ConcurrentHashMap<>();
+
     public LRUBuilderCache() {
         //CDI proxy
     }
@@ -81,7 +101,8 @@ public class LRUBuilderCache extends LRUCache<Project, Builder > {
                            @Named("LRUProjectDependenciesClassLoaderCache") LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache,
                            @Named("LRUPomModelCache") LRUPomModelCache pomModelCache,
                            PackageNameWhiteListService packageNameWhiteListService,
-                           @JavaSourceFilter Instance<Predicate<String>> classFilterBeans) {
+                           @JavaSourceFilter Instance<Predicate<String>> classFilterBeans,
+                           KieModuleArtifactCache artifactCache) {
         this.ioService = ioService;
         this.projectService = projectService;
         this.importsService = importsService;
@@ -90,6 +111,7 @@ public class LRUBuilderCache extends LRUCache<Project, Builder > {
         this.pomModelCache = pomModelCache;
         this.packageNameWhiteListService = (PackageNameWhiteListServiceImpl) packageNameWhiteListService;
         this.classFilterBeans = classFilterBeans;
+        this.artifactCache = artifactCache;
     }
 
     @PostConstruct
@@ -114,12 +136,19 @@ public class LRUBuilderCache extends LRUCache<Project, Builder > {
         //If resource was not within a Project there's nothing to invalidate
         if (project != null) {
             invalidateCache(project);
+            //A Builder being constructed for the Project is now stale; it's returned to its callers but not cached
+            pendingBuilders.remove(project);
+            projectLockWaitTimes.remove(project);
         }
     }
 
-    public synchronized Builder assertBuilder(POM pom)
+    public Builder assertBuilder(POM pom)
             throws NoBuilderFoundException {
-        for (Project project : getKeys()) {
+        final List<Project> projects;
+        synchronized (this) {
+            projects = new ArrayList<>(getKeys());
+        }
+        for (Project project : projects) {
             if (project.getPom().getGav().equals(pom.getGav())) {
                 return makeBuilder(project);
             }
@@ -127,7 +156,7 @@ public class LRUBuilderCache extends LRUCache<Project, Builder > {
         throw new NoBuilderFoundException();
     }
 
-    public synchronized Builder assertBuilder(final Project project) {
+    public Builder assertBuilder(final Project project) {
         return makeBuilder(project);
     }
 
@@ -135,23 +164,107 @@ public class LRUBuilderCache extends LRUCache<Project, Builder > {
         return getEntry(project);
     }
 
-    private Builder makeBuilder(Project project) {
-        Builder builder = getEntry(project);
-        if (builder == null) {
-            builder = new Builder(project,
-                                  ioService,
-                                  projectService,
-                                  importsService,
-                                  buildValidationHelpers,
-                                  dependenciesClassLoaderCache,
-                                  pomModelCache,
-                                  packageNameWhiteListService,
-                                  createSingleClassFilterPredicate());
-
-            setEntry(project,
-                     builder);
+    /**
+     * Total time, in milliseconds, callers have spent waiting for the construction of the Builder of the given Project.
+     * @param project The Project
+     * @return Accumulated wait time in milliseconds; zero if no caller ever waited.
+     */
+    public long getBuilderLockWaitTime(final Project project) {
+        final LongAdder waitTime = projectLockWaitTimes.get(project);
+        return waitTime == null ? 0 : TimeUnit.NANOSECONDS.toMillis(waitTime.sum());
+    }
+
+    private Builder makeBuilder(final Project project) {
+        final FutureTask<Builder> task = new FutureTask<>(() -> newBuilder(project));
+        final FutureTask<Builder> pending;
+        synchronized (this) {
+            final Builder builder = getEntry(project);
+            if (builder != null) {
+                return builder;
+            }
+            pending = pendingBuilders.putIfAbsent(project,
+                                                  task);
+        }
+
+        if (pending != null) {
+            //Only callers for the same Project wait; a cold build of one Project does not block the others
+            final long waitStart = System.nanoTime();
+            try {
+                return awaitBuilder(pending);
+            } finally {
+                recordLockWaitTime(project,
+                                   System.nanoTime() - waitStart);
+            }
         }
-        return builder;
+
+        try {
+            task.run();
+            final Builder builder = awaitBuilder(task);
+            synchronized (this) {
+                if (pendingBuilders.remove(project,
+                                           task)) {
+                    setEntry(project,
+                             builder);
+                    pruneLockWaitTimes();
+                }
+            }
+            return builder;
+        } finally {
+            synchronized (this) {
+                pendingBuilders.remove(project,
+                                       task);
+            }
+        }
+    }
+
+    private Builder newBuilder(final Project project) {
+        return new Builder(project,
+                           ioService,
+                           projectService,
+                           importsService,
+                           buildValidationHelpers,
+                           dependenciesClassLoaderCache,
+                           pomModelCache,
+                           packageNameWhiteListService,
+                           createSingleClassFilterPredicate(),
+                           artifactCache);
+    }
+
+    private Builder awaitBuilder(final FutureTask<Builder> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Builder construction",
+                                            e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void recordLockWaitTime(final Project project,
+                                    final long waitNanos) {
+        projectLockWaitTimes.computeIfAbsent(project,
+                                             (p) -> new LongAdder()).add(waitNanos);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Waited " + TimeUnit.NANOSECONDS.toMillis(waitNanos) + "ms for Builder of Project '" + project.getProjectName() + "'.");
+        }
+    }
+
+    /**
+     * LRUCache does not notify evictions, so wait times are dropped for Projects no longer cached nor being built.
+     * Must be called holding the cache monitor.
+     */
+    private void pruneLockWaitTimes() {
+        final Set<Project> projects = new HashSet<>(getKeys());
+        projectLockWaitTimes.keySet().removeIf(project -> !projects.contains(project) && !pendingBuilders.containsKey(project));
     }
 
     private Predicate<String> createSingleClassFilterPredicate() {
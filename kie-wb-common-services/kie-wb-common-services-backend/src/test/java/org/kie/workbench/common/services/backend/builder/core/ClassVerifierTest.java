@@ -21,6 +21,7 @@ import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.junit.Before;
@@ -61,4 +62,22 @@ public class ClassVerifierTest {
 				+ "Underlying system error is: The access to the class is not allowed. Please check the necessary external dependencies for this project are configured correctly.",
 				messages.get(0).getText());
 	}		
-}
\ No newline at end of file
+
+	@Test
+	public void testVerifyClassInParallel(){
+		WhiteList whiteList = new WhiteList();
+		whiteList.add("org.kie.workbench.common.services.backend.builder");
+
+		ClassVerifier classVerifier = new ClassVerifier(kieModuleMetaData, typeSourceResolver);
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			List<BuildMessage> messages = classVerifier.verify(whiteList, pool);
+
+			assertEquals(1, messages.size());
+			assertEquals(classVerifier.verify(whiteList).get(0).getText(),
+					messages.get(0).getText());
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
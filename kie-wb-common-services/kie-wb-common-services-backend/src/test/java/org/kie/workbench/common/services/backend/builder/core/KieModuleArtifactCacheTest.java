@@ -0,0 +1,225 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.File;
+
+import org.appformer.maven.support.DependencyFilter;
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.POM;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.KieModule;
+import org.kie.scanner.KieModuleMetaData;
+import org.uberfire.backend.vfs.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class KieModuleArtifactCacheTest {
+
+    private static final String DRL = "package org.test\n" +
+            "declare Person\n" +
+            "  name : String\n" +
+            "end\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final GAV gav = new GAV( "org.test",
+                                     "project",
+                                     "1.0" );
+
+    private KieServices kieServices;
+
+    private Project project;
+
+    private KieModuleArtifactCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        kieServices = KieServices.Factory.get();
+        project = newProject( "default://master@repo/project" );
+        cache = new KieModuleArtifactCache( temporaryFolder.getRoot().getAbsolutePath() );
+    }
+
+    @Test
+    public void testDisabledWithoutDirectory() {
+        final KieModuleArtifactCache disabled = new KieModuleArtifactCache( (String) null );
+
+        assertFalse( disabled.isEnabled() );
+        assertNull( disabled.load( project,
+                                   "key" ) );
+    }
+
+    @Test
+    public void testKeyChangesWithContent() {
+        final KieFileSystem kfs1 = newKieFileSystem( DRL );
+        final KieFileSystem kfs2 = newKieFileSystem( DRL );
+        final KieFileSystem kfs3 = newKieFileSystem( DRL.replace( "name",
+                                                                  "surname" ) );
+
+        assertEquals( cache.computeKey( kfs1 ),
+                      cache.computeKey( kfs2 ) );
+        assertNotEquals( cache.computeKey( kfs1 ),
+                         cache.computeKey( kfs3 ) );
+    }
+
+    @Test
+    public void testStoreAndLoad() {
+        final KieFileSystem kfs = newKieFileSystem( DRL );
+        final String key = cache.computeKey( kfs );
+        final KieModule builtKieModule = build( kfs );
+
+        assertNull( cache.load( project,
+                                key ) );
+
+        cache.store( project,
+                     key,
+                     builtKieModule,
+                     newKieModuleMetaData( builtKieModule ) );
+
+        final KieModuleArtifactCache.Entry entry = cache.load( project,
+                                                               key );
+        assertNotNull( entry );
+        assertEquals( gav.getArtifactId(),
+                      entry.getKieModule().getReleaseId().getArtifactId() );
+        assertNotNull( entry.getKieModuleMetaData() );
+    }
+
+    @Test
+    public void testLoadDiscardsEntryWithChangedDependencies() throws Exception {
+        final KieFileSystem kfs = newKieFileSystem( DRL );
+        final String key = cache.computeKey( kfs );
+        final KieModule builtKieModule = build( kfs );
+        final KieModuleMetaData kieModuleMetaData = newKieModuleMetaData( builtKieModule );
+
+        cache.store( project,
+                     key,
+                     builtKieModule,
+                     kieModuleMetaData );
+
+        //Simulate an entry stored against different dependencies, e.g. a former SNAPSHOT
+        final File[] artifacts = temporaryFolder.getRoot().listFiles();
+        assertNotNull( artifacts );
+        assertEquals( 1,
+                      artifacts.length );
+        final String dependenciesKey = cache.computeDependenciesKey( kieModuleMetaData );
+        final File stale = new File( temporaryFolder.getRoot(),
+                                     artifacts[ 0 ].getName().replace( dependenciesKey,
+                                                                       "stale" ) );
+        assertTrue( artifacts[ 0 ].renameTo( stale ) );
+
+        assertNull( cache.load( project,
+                                key ) );
+        assertFalse( stale.exists() );
+    }
+
+    @Test
+    public void testProjectDeletionEvictsArtifacts() {
+        final Project otherProject = newProject( "default://master@repo/project2" );
+        final KieFileSystem kfs = newKieFileSystem( DRL );
+        final String key = cache.computeKey( kfs );
+        final KieModule builtKieModule = build( kfs );
+        final KieModuleMetaData kieModuleMetaData = newKieModuleMetaData( builtKieModule );
+
+        cache.store( project,
+                     key,
+                     builtKieModule,
+                     kieModuleMetaData );
+        cache.store( otherProject,
+                     key,
+                     builtKieModule,
+                     kieModuleMetaData );
+
+        //Deleted Projects may no longer have a POM
+        final Project deletedProject = mock( Project.class );
+        when( deletedProject.getRootPath() ).thenReturn( project.getRootPath() );
+        cache.onProjectDeleted( new DeleteProjectEvent( deletedProject ) );
+
+        assertNull( cache.load( project,
+                                key ) );
+        assertNotNull( cache.load( otherProject,
+                                   key ) );
+    }
+
+    @Test
+    public void testStoreEvictsStaleArtifacts() {
+        final KieFileSystem kfs1 = newKieFileSystem( DRL );
+        final KieFileSystem kfs2 = newKieFileSystem( DRL.replace( "name",
+                                                                  "surname" ) );
+        final String key1 = cache.computeKey( kfs1 );
+        final String key2 = cache.computeKey( kfs2 );
+
+        final KieModule kieModule1 = build( kfs1 );
+        final KieModule kieModule2 = build( kfs2 );
+
+        cache.store( project,
+                     key1,
+                     kieModule1,
+                     newKieModuleMetaData( kieModule1 ) );
+        cache.store( project,
+                     key2,
+                     kieModule2,
+                     newKieModuleMetaData( kieModule2 ) );
+
+        assertNull( cache.load( project,
+                                key1 ) );
+        assertNotNull( cache.load( project,
+                                   key2 ) );
+        final File[] artifacts = temporaryFolder.getRoot().listFiles();
+        assertNotNull( artifacts );
+        assertEquals( 1,
+                      artifacts.length );
+    }
+
+    private Project newProject( final String rootUri ) {
+        final Path rootPath = mock( Path.class );
+        when( rootPath.toURI() ).thenReturn( rootUri );
+        final Project project = mock( Project.class );
+        when( project.getRootPath() ).thenReturn( rootPath );
+        when( project.getPom() ).thenReturn( new POM( gav ) );
+        return project;
+    }
+
+    private KieModule build( final KieFileSystem kfs ) {
+        final KieBuilder kieBuilder = kieServices.newKieBuilder( kfs ).buildAll();
+        return kieBuilder.getKieModule();
+    }
+
+    private KieModuleMetaData newKieModuleMetaData( final KieModule kieModule ) {
+        return KieModuleMetaData.Factory.newKieModuleMetaData( kieModule,
+                                                               DependencyFilter.COMPILE_FILTER );
+    }
+
+    private KieFileSystem newKieFileSystem( final String drl ) {
+        final KieFileSystem kfs = kieServices.newKieFileSystem();
+        kfs.generateAndWritePomXML( kieServices.newReleaseId( gav.getGroupId(),
+                                                              gav.getArtifactId(),
+                                                              gav.getVersion() ) );
+        kfs.writeKModuleXML( kieServices.newKieModuleModel().toXML() );
+        kfs.write( "src/main/resources/org/test/person.drl",
+                   drl );
+        return kfs;
+    }
+}
@@ -37,7 +37,7 @@ import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 
 public abstract class AbstractDiagramLookupService<M extends Metadata, D extends Diagram<Graph, M>>
-        extends AbstractVFSLookupManager<D, DiagramRepresentation, DiagramLookupRequest>
+        extends AbstractVFSLookupManager<DiagramRepresentation, DiagramRepresentation, DiagramLookupRequest>
         implements DiagramLookupManager,
                    DiagramLookupService {
 
@@ -56,26 +56,31 @@ public abstract class AbstractDiagramLookupService<M extends Metadata, D extends
         return diagramService.accepts(path);
     }
 
+    /**
+     * Only the diagram's representation is kept for each path, so the diagram is unmarshalled on the first
+     * lookup and again just when its file changes.
+     */
     @Override
-    protected D getItemByPath(final Path path) {
-        return diagramService.getDiagramByPath(path);
+    protected DiagramRepresentation getItemByPath(final Path path) {
+        final D diagram = diagramService.getDiagramByPath(path);
+        return null != diagram ? new DiagramRepresentationImpl.DiagramRepresentationBuilder(diagram).build() : null;
     }
 
     @Override
-    protected List<D> getItems(final DiagramLookupRequest request) {
+    protected List<DiagramRepresentation> getItems(final DiagramLookupRequest request) {
         org.uberfire.java.nio.file.Path root = parseCriteriaPath(request);
         return getItemsByPath(root);
     }
 
     @Override
     protected boolean matches(final String criteria,
-                              final Diagram item) {
+                              final DiagramRepresentation item) {
         return true;
     }
 
     @Override
-    protected DiagramRepresentation buildResult(final Diagram item) {
-        return new DiagramRepresentationImpl.DiagramRepresentationBuilder(item).build();
+    protected DiagramRepresentation buildResult(final DiagramRepresentation item) {
+        return item;
     }
 
     protected org.uberfire.java.nio.file.Path parseCriteriaPath(final DiagramLookupRequest request) {
@@ -137,9 +137,7 @@ public class DiagramServiceImpl
     }
 
     @Override
-    protected Metadata doSave(final Diagram diagram,
-                              final String raw,
-                              final String metadata) {
+    protected Metadata doSave(final Diagram diagram) {
         try {
             getIoService().startBatch(fileSystem);
             final Path _path = diagram.getMetadata().getPath();
@@ -147,9 +145,10 @@ public class DiagramServiceImpl
             final org.uberfire.java.nio.file.Path path =
                     null != _path ? Paths.convert(_path) : getDiagramsPath().resolve(name);
             // Serialize the diagram's raw data.
-            LOG.debug("Serializing raw data: " + raw);
-            getIoService().write(path,
-                                 raw);
+            serialize(diagram,
+                      path);
+            // Serialize the metadata once the diagram has been marshalled, as marshalling can update it.
+            final String metadata = serializeMetadata(diagram);
             final String metadataFileName = getMetadataFileName(name);
             final org.uberfire.java.nio.file.Path metadataPath =
                     getDiagramsPath().resolve(metadataFileName);
@@ -17,6 +17,8 @@ package org.kie.workbench.common.stunner.core.definition.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
@@ -48,6 +50,18 @@ public interface DiagramMarshaller<G extends Graph, M extends Metadata, D extend
      */
     String marshall(final D diagram) throws IOException;
 
+    /**
+     * Serializes a diagram instance of type <code>D</code> into the given output stream, UTF-8 encoded.
+     * Marshallers able to write the serialized diagram progressively should override it.
+     * @param diagram The diagram instance to serialize.
+     * @param output The output stream. It's not closed once the diagram has been written.
+     * @throws IOException System I/O error.
+     */
+    default void marshall(final D diagram,
+                          final OutputStream output) throws IOException {
+        output.write(marshall(diagram).getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Provides a un/marshaller instance for the Diagram's metadata.
      * @return The diagram's metadata marshaller.
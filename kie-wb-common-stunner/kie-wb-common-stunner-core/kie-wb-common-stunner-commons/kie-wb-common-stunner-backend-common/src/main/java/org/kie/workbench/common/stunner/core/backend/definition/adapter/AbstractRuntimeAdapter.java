@@ -18,6 +18,7 @@ package org.kie.workbench.common.stunner.core.backend.definition.adapter;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import org.kie.workbench.common.stunner.core.definition.adapter.PriorityAdapter;
@@ -84,6 +85,12 @@ public abstract class AbstractRuntimeAdapter<T> implements PriorityAdapter {
                                                        annotationType);
     }
 
+    protected static List<Field> getAnnotatedFields(final Class<?> type,
+                                                    final Class<? extends Annotation> annotationType) {
+        return RuntimeAdapterUtils.getAnnotatedFields(type,
+                                                      annotationType);
+    }
+
     protected String getDefinitionId(final Class<?> type) {
         return RuntimeAdapterUtils.getDefinitionId(type);
     }
@@ -18,62 +18,73 @@ package org.kie.workbench.common.stunner.core.backend.definition.adapter;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 
+/**
+ * Reflection helpers for the runtime adapters.
+ * The fields and annotations of each class are resolved once and kept along with the class, as the adapters read
+ * the same definition and property types over and over, for example when marshalling a diagram.
+ */
 public class RuntimeAdapterUtils {
 
+    private static final ClassValue<ClassAccessors> ACCESSORS = new ClassValue<ClassAccessors>() {
+        @Override
+        protected ClassAccessors computeValue(final Class<?> type) {
+            return new ClassAccessors(type);
+        }
+    };
+
     @SuppressWarnings("unchecked")
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            V result = getAnnotatedFieldValue(object,
-                                              c,
-                                              annotationType);
+        for (Field field : ACCESSORS.get(object.getClass()).getFirstAnnotatedFields(annotationType)) {
+            V result = (V) field.get(object);
             if (null != result) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
 
+    @SuppressWarnings("unchecked")
     public static <T, V> Set<V> getFieldValues(final T object,
                                                final Set<String> fieldNames) throws IllegalAccessException {
         Set<V> result = new LinkedHashSet<V>();
         if (null != fieldNames) {
+            final ClassAccessors accessors = ACCESSORS.get(object.getClass());
             for (String fieldName : fieldNames) {
-                Class<?> c = object.getClass();
-                while (!c.getName().equals(Object.class.getName())) {
-                    V result1 = getFieldValue(object,
-                                              c,
-                                              fieldName);
+                for (Field field : accessors.getNamedFields(fieldName)) {
+                    V result1 = (V) field.get(object);
                     if (null != result1) {
                         result.add(result1);
                     }
-                    c = c.getSuperclass();
                 }
             }
         }
         return result;
     }
 
+    @SuppressWarnings("unchecked")
     public static <T, V> V getFieldValue(final T object,
                                          final String fieldName) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            V result = getFieldValue(object,
-                                     c,
-                                     fieldName);
+        for (Field field : ACCESSORS.get(object.getClass()).getNamedFields(fieldName)) {
+            V result = (V) field.get(object);
             if (null != result) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
@@ -82,111 +93,56 @@ public class RuntimeAdapterUtils {
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<?> sourceType,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                A annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        final Field field = ACCESSORS.get(sourceType).getFirstDeclaredField(annotationType);
+        return null != field ? (V) field.get(object) : null;
     }
 
     @SuppressWarnings("unchecked")
     public static <T, V> V getFieldValue(final T object,
                                          final Class<?> sourceType,
                                          final String fieldName) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        final Field field = ACCESSORS.get(sourceType).getDeclaredField(fieldName);
+        return null != field ? (V) field.get(object) : null;
     }
 
     public static <T> Field getField(final T object,
                                      final String fieldName) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            Field result = getField(c,
-                                    fieldName);
-            if (null != result) {
-                return result;
-            }
-            c = c.getSuperclass();
-        }
-        return null;
+        final List<Field> fields = ACCESSORS.get(object.getClass()).getNamedFields(fieldName);
+        return !fields.isEmpty() ? fields.get(0) : null;
     }
 
     public static Field getField(final Class<?> sourceType,
                                  final String fieldName) throws IllegalAccessException {
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    return field;
-                }
-            }
-        }
-        return null;
+        return ACCESSORS.get(sourceType).getDeclaredField(fieldName);
     }
 
     public static <T extends Annotation> T getClassAnnotation(final Class<?> type,
                                                               final Class<T> annotationType) {
-        Class<?> c = type;
-        while (!c.getName().equals(Object.class.getName())) {
-            T result = c.getAnnotation(annotationType);
-            if (null != result) {
-                return result;
-            }
-            c = c.getSuperclass();
-        }
-        return null;
+        return ACCESSORS.get(type).getClassAnnotation(annotationType);
     }
 
     public static <T extends Annotation> Collection<Field> getFieldAnnotations(final Class<?> type,
                                                                                final Class<T> annotationType) {
         if (null != type && null != annotationType) {
-            Collection<Field> result = new LinkedList<>();
-            Class<?> c = type;
-            while (!c.getName().equals(Object.class.getName())) {
-                Collection<Field> fields = _getFieldAnnotations(c,
-                                                                annotationType);
-                if (null != fields && !fields.isEmpty()) {
-                    result.addAll(fields);
-                }
-                c = c.getSuperclass();
-            }
-            return result;
+            return new LinkedList<>(ACCESSORS.get(type).getAnnotatedFields(annotationType));
         }
         return null;
     }
 
-    private static <T extends Annotation> Collection<Field> _getFieldAnnotations(final Class<?> type,
-                                                                                 final Class<T> annotationType) {
-        Field[] fields = type.getDeclaredFields();
-        if (null != fields) {
-            Collection<Field> result = new LinkedList<>();
-            for (Field field : fields) {
-                T annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    result.add(field);
-                }
-            }
-            return result;
-        }
-        return null;
+    /**
+     * Returns the fields with the given annotation along the type hierarchy, from the type up to its
+     * super-types. The fields are already made accessible.
+     */
+    public static List<Field> getAnnotatedFields(final Class<?> type,
+                                                 final Class<? extends Annotation> annotationType) {
+        return ACCESSORS.get(type).getAnnotatedFields(annotationType);
+    }
+
+    /**
+     * Returns the fields declared by the given type, already made accessible.
+     */
+    public static List<Field> getDeclaredFields(final Class<?> type) {
+        return ACCESSORS.get(type).declaredFields;
     }
 
     public static String getDefinitionId(final Class<?> type) {
@@ -196,4 +152,117 @@ public class RuntimeAdapterUtils {
     public static String getPropertyId(final Object pojo) {
         return BindableAdapterUtils.getPropertyId(pojo.getClass());
     }
+
+    /**
+     * The resolved fields and annotations of a class. Lookups on the type hierarchy go from the class
+     * up to, but not including, <code>Object</code>, and are computed on first use.
+     */
+    private static class ClassAccessors {
+
+        private final Class<?> type;
+        private final List<Field> declaredFields;
+        private final Map<Class<?>, Optional<Field>> firstDeclaredFieldByAnnotation = new ConcurrentHashMap<>();
+        private final Map<Class<?>, List<Field>> firstAnnotatedFields = new ConcurrentHashMap<>();
+        private final Map<Class<?>, List<Field>> annotatedFields = new ConcurrentHashMap<>();
+        private final Map<String, List<Field>> namedFields = new ConcurrentHashMap<>();
+        private final Map<Class<?>, Optional<Annotation>> classAnnotations = new ConcurrentHashMap<>();
+
+        private ClassAccessors(final Class<?> type) {
+            this.type = type;
+            final Field[] fields = type.getDeclaredFields();
+            for (Field field : fields) {
+                try {
+                    field.setAccessible(true);
+                } catch (SecurityException e) {
+                    // Left as is, access checks apply when reading it.
+                }
+            }
+            this.declaredFields = Collections.unmodifiableList(Arrays.asList(fields));
+        }
+
+        /**
+         * The first field declared by this class with the given annotation.
+         */
+        private Field getFirstDeclaredField(final Class<? extends Annotation> annotationType) {
+            return firstDeclaredFieldByAnnotation.computeIfAbsent(annotationType,
+                                                                  a -> declaredFields.stream()
+                                                                          .filter(field -> null != field.getAnnotation(annotationType))
+                                                                          .findFirst())
+                    .orElse(null);
+        }
+
+        private Field getDeclaredField(final String fieldName) {
+            for (Field field : declaredFields) {
+                if (field.getName().equals(fieldName)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * For each class in the hierarchy, the first field it declares with the given annotation.
+         */
+        private List<Field> getFirstAnnotatedFields(final Class<? extends Annotation> annotationType) {
+            return firstAnnotatedFields.computeIfAbsent(annotationType,
+                                                        a -> collect(accessors -> {
+                                                            final Field field = accessors.getFirstDeclaredField(annotationType);
+                                                            return null != field ? Collections.singletonList(field) : Collections.emptyList();
+                                                        }));
+        }
+
+        /**
+         * All the fields in the hierarchy with the given annotation.
+         */
+        private List<Field> getAnnotatedFields(final Class<? extends Annotation> annotationType) {
+            return annotatedFields.computeIfAbsent(annotationType,
+                                                   a -> collect(accessors -> {
+                                                       final List<Field> fields = new ArrayList<>();
+                                                       for (Field field : accessors.declaredFields) {
+                                                           if (null != field.getAnnotation(annotationType)) {
+                                                               fields.add(field);
+                                                           }
+                                                       }
+                                                       return fields;
+                                                   }));
+        }
+
+        /**
+         * For each class in the hierarchy, the field it declares with the given name.
+         */
+        private List<Field> getNamedFields(final String fieldName) {
+            return namedFields.computeIfAbsent(fieldName,
+                                               n -> collect(accessors -> {
+                                                   final Field field = accessors.getDeclaredField(fieldName);
+                                                   return null != field ? Collections.singletonList(field) : Collections.emptyList();
+                                               }));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T extends Annotation> T getClassAnnotation(final Class<T> annotationType) {
+            return (T) classAnnotations.computeIfAbsent(annotationType,
+                                                        a -> {
+                                                            Class<?> c = type;
+                                                            while (null != c && !c.getName().equals(Object.class.getName())) {
+                                                                final T annotation = c.getAnnotation(annotationType);
+                                                                if (null != annotation) {
+                                                                    return Optional.of(annotation);
+                                                                }
+                                                                c = c.getSuperclass();
+                                                            }
+                                                            return Optional.empty();
+                                                        })
+                    .orElse(null);
+        }
+
+        private List<Field> collect(final Function<ClassAccessors, List<Field>> fieldsOf) {
+            final List<Field> result = new ArrayList<>();
+            Class<?> c = type;
+            while (null != c && !c.getName().equals(Object.class.getName())) {
+                result.addAll(fieldsOf.apply(ACCESSORS.get(c)));
+                c = c.getSuperclass();
+            }
+            return Collections.unmodifiableList(result);
+        }
+    }
 }
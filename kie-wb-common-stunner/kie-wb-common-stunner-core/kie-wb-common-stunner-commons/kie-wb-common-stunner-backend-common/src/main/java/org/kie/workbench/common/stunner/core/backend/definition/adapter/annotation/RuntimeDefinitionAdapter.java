@@ -26,6 +26,7 @@ import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.AbstractRuntimeAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.RuntimeAdapterUtils;
 import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.HasInheritance;
 import org.kie.workbench.common.stunner.core.definition.annotation.Definition;
@@ -238,14 +239,11 @@ public class RuntimeDefinitionAdapter<T> extends AbstractRuntimeAdapter<T>
     }
 
     private boolean isBaseType(final Class<?> type) {
-        Field[] fields = type.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                for (Class a : DEF_ANNOTATIONS) {
-                    Annotation annotation = field.getAnnotation(a);
-                    if (null != annotation) {
-                        return true;
-                    }
+        for (Field field : RuntimeAdapterUtils.getDeclaredFields(type)) {
+            for (Class a : DEF_ANNOTATIONS) {
+                Annotation annotation = field.getAnnotation(a);
+                if (null != annotation) {
+                    return true;
                 }
             }
         }
@@ -106,25 +106,14 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
     @Override
     public Object getValue(final T property) {
         if (null != property) {
-            Class<?> c = property.getClass();
-            while (!c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        Value annotation = field.getAnnotation(Value.class);
-                        if (null != annotation) {
-                            try {
-                                return _getValue(field,
-                                                 annotation,
-                                                 property);
-                            } catch (Exception e) {
-                                LOG.error("Error obtaining annotated value for Property with id " + getId(property),
-                                          e);
-                            }
-                        }
-                    }
+            for (Field field : getAnnotatedFields(property.getClass(),
+                                                  Value.class)) {
+                try {
+                    return field.get(property);
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated value for Property with id " + getId(property),
+                              e);
                 }
-                c = c.getSuperclass();
             }
         }
         return null;
@@ -133,24 +122,13 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
     @Override
     public Object getDefaultValue(final T property) {
         if (null != property) {
-            Class<?> c = property.getClass();
-            while (!c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        DefaultValue annotation = field.getAnnotation(DefaultValue.class);
-                        if (null != annotation) {
-                            try {
-                                return _getValue(field,
-                                                 annotation,
-                                                 property);
-                            } catch (Exception e) {
-                                LOG.error("Error obtaining annotated default value for Property with id " + getId(property));
-                            }
-                        }
-                    }
+            for (Field field : getAnnotatedFields(property.getClass(),
+                                                  DefaultValue.class)) {
+                try {
+                    return field.get(property);
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated default value for Property with id " + getId(property));
                 }
-                c = c.getSuperclass();
             }
         }
         return null;
@@ -160,51 +138,32 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
     public Map<Object, String> getAllowedValues(final T property) {
         Map<Object, String> result = new LinkedHashMap<>();
         if (null != property) {
-            Class<?> c = property.getClass();
-            boolean done = false;
-            while (!done && !c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        AllowedValues annotation = field.getAnnotation(AllowedValues.class);
-                        if (null != annotation) {
-                            try {
-                                Iterable<?> value = _getValue(field,
-                                                              annotation,
-                                                              property);
-                                if (null != value && value.iterator().hasNext()) {
-                                    Iterator<?> vIt = value.iterator();
-                                    while (vIt.hasNext()) {
-                                        Object v = vIt.next();
-                                        result.put(v,
-                                                   v.toString());
-                                    }
-                                }
-                                done = true;
-                            } catch (Exception e) {
-                                LOG.error("Error obtaining annotated allowed values for Property with id " + getId(property));
-                            }
+            Class<?> doneType = null;
+            for (Field field : getAnnotatedFields(property.getClass(),
+                                                  AllowedValues.class)) {
+                // Only consider the fields declared by the first type providing the allowed values.
+                if (null != doneType && !doneType.equals(field.getDeclaringClass())) {
+                    break;
+                }
+                try {
+                    Iterable<?> value = (Iterable<?>) field.get(property);
+                    if (null != value && value.iterator().hasNext()) {
+                        Iterator<?> vIt = value.iterator();
+                        while (vIt.hasNext()) {
+                            Object v = vIt.next();
+                            result.put(v,
+                                       v.toString());
                         }
                     }
+                    doneType = field.getDeclaringClass();
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated allowed values for Property with id " + getId(property));
                 }
-                c = c.getSuperclass();
             }
         }
         return !result.isEmpty() ? result : null;
     }
 
-    @SuppressWarnings("unchecked")
-    private <V> V _getValue(final Field field,
-                            final Object annotation,
-                            final T property) throws IllegalAccessException {
-        if (null != annotation) {
-            field.setAccessible(true);
-            V result = (V) field.get(property);
-            return result;
-        }
-        return null;
-    }
-
     @Override
     public void setValue(final T property,
                          final Object value) {
@@ -213,28 +172,16 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
                 // throw new RuntimeException( "Cannot set new value for property [" + getId( property ) + "] as it is read only! " );
                 return;
             }
-            Class<?> c = property.getClass();
-            boolean done = false;
-            while (!done && !c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        Value annotation = field.getAnnotation(Value.class);
-                        if (null != annotation) {
-                            try {
-                                field.setAccessible(true);
-                                field.set(property,
-                                          value);
-                                done = true;
-                                break;
-                            } catch (Exception e) {
-                                LOG.error("Error setting value for Property with id [" + getId(property) + "] " +
-                                                  "and value [" + (value != null ? value.toString() : "null") + "]");
-                            }
-                        }
-                    }
+            for (Field field : getAnnotatedFields(property.getClass(),
+                                                  Value.class)) {
+                try {
+                    field.set(property,
+                              value);
+                    break;
+                } catch (Exception e) {
+                    LOG.error("Error setting value for Property with id [" + getId(property) + "] " +
+                                      "and value [" + (value != null ? value.toString() : "null") + "]");
                 }
-                c = c.getSuperclass();
             }
         }
     }
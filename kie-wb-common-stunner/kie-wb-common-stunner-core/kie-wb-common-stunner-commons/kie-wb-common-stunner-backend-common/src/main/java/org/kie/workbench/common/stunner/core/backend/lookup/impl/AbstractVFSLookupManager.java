@@ -16,8 +16,14 @@
 
 package org.kie.workbench.common.stunner.core.backend.lookup.impl;
 
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.kie.workbench.common.stunner.core.lookup.AbstractLookupManager;
 import org.kie.workbench.common.stunner.core.lookup.LookupManager;
@@ -33,12 +39,20 @@ import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
 import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
 import static org.uberfire.java.nio.file.Files.walkFileTree;
 
+/**
+ * Base lookup manager for items stored in the VFS.
+ * Items are loaded once per path and kept while the MD5 digest of the file's content does not change, so
+ * walking a path only loads the files that are new or have been modified since the previous walk. The
+ * content is compared rather than the file attributes, as the VFS last modified times have a resolution
+ * of a second. Items should be lightweight and immutable representations of the stored resources.
+ */
 public abstract class AbstractVFSLookupManager<I, T, R extends LookupManager.LookupRequest> extends AbstractLookupManager<I, T, R> {
 
     private static final Logger LOG =
             LoggerFactory.getLogger(AbstractVFSLookupManager.class.getName());
 
     private final IOService ioService;
+    private final Map<String, CachedItem<I>> itemsByPath = new ConcurrentHashMap<>();
 
     public AbstractVFSLookupManager(IOService ioService) {
         this.ioService = ioService;
@@ -52,6 +66,7 @@ public abstract class AbstractVFSLookupManager<I, T, R extends LookupManager.Loo
         try {
             final List<I> result = new LinkedList<I>();
             if (ioService.exists(root)) {
+                final Set<String> visited = new HashSet<>();
                 walkFileTree(checkNotNull("root",
                                           root),
                              new SimpleFileVisitor<Path>() {
@@ -64,14 +79,11 @@ public abstract class AbstractVFSLookupManager<I, T, R extends LookupManager.Loo
                                                   attrs);
                                      final org.uberfire.backend.vfs.Path file = org.uberfire.backend.server.util.Paths.convert(_file);
                                      if (acceptsPath(file)) {
-                                         I item = null;
-                                         try {
-                                             // portable diagram representation.
-                                             item = getItemByPath(file);
-                                         } catch (final Exception e) {
-                                             LOG.error("Cannot load diagram for path [" + file + "]",
-                                                       e);
-                                         }
+                                         final String key = file.toURI();
+                                         visited.add(key);
+                                         final I item = getItemByPath(key,
+                                                                      _file,
+                                                                      file);
                                          if (null != item) {
                                              result.add(item);
                                          }
@@ -79,6 +91,8 @@ public abstract class AbstractVFSLookupManager<I, T, R extends LookupManager.Loo
                                      return FileVisitResult.CONTINUE;
                                  }
                              });
+                evictItems(root,
+                           visited);
             }
             return result;
         } catch (Exception e) {
@@ -88,7 +102,69 @@ public abstract class AbstractVFSLookupManager<I, T, R extends LookupManager.Loo
         return null;
     }
 
+    private I getItemByPath(final String key,
+                            final org.uberfire.java.nio.file.Path nioFile,
+                            final org.uberfire.backend.vfs.Path file) {
+        final byte[] contentHash = getContentHash(nioFile);
+        final CachedItem<I> cached = itemsByPath.get(key);
+        if (null != cached && cached.isValid(contentHash)) {
+            return cached.item;
+        }
+        I item = null;
+        try {
+            // portable diagram representation.
+            item = getItemByPath(file);
+        } catch (final Exception e) {
+            LOG.error("Cannot load diagram for path [" + file + "]",
+                      e);
+        }
+        if (null != item && null != contentHash) {
+            itemsByPath.put(key,
+                            new CachedItem<>(item,
+                                             contentHash));
+        } else {
+            itemsByPath.remove(key);
+        }
+        return item;
+    }
+
+    private byte[] getContentHash(final org.uberfire.java.nio.file.Path file) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(ioService.readAllBytes(file));
+        } catch (final Exception e) {
+            LOG.warn("Cannot read the content of [" + file + "]",
+                     e);
+            return null;
+        }
+    }
+
+    // Discards the items for the files that no longer exist under the given root.
+    // The separator keeps sibling folders sharing the root's name as prefix (e.g. "diagrams2") untouched.
+    private void evictItems(final org.uberfire.java.nio.file.Path root,
+                            final Set<String> visited) {
+        final String rootUri = org.uberfire.backend.server.util.Paths.convert(root).toURI();
+        final String rootKey = rootUri.endsWith("/") ? rootUri : rootUri + "/";
+        itemsByPath.keySet().removeIf(key -> key.startsWith(rootKey) && !visited.contains(key));
+    }
+
     protected IOService getIoService() {
         return ioService;
     }
+
+    private static final class CachedItem<I> {
+
+        private final I item;
+        private final byte[] contentHash;
+
+        private CachedItem(final I item,
+                           final byte[] contentHash) {
+            this.item = item;
+            this.contentHash = contentHash;
+        }
+
+        private boolean isValid(final byte[] contentHash) {
+            return Arrays.equals(this.contentHash,
+                                 contentHash);
+        }
+    }
 }
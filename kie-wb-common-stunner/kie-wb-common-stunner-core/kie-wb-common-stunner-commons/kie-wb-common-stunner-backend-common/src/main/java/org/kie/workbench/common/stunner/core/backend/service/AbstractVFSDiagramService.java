@@ -17,6 +17,7 @@
 package org.kie.workbench.common.stunner.core.backend.service;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -46,6 +47,7 @@ import org.uberfire.io.IOService;
 import org.uberfire.java.nio.IOException;
 import org.uberfire.java.nio.file.FileAlreadyExistsException;
 import org.uberfire.java.nio.file.FileVisitResult;
+import org.uberfire.java.nio.file.OpenOption;
 import org.uberfire.java.nio.file.SimpleFileVisitor;
 import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
 import org.uberfire.workbench.type.ResourceTypeDefinition;
@@ -104,9 +106,8 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
             final D diagram = factoryManager.newDiagram(name,
                                                         defSetId,
                                                         metadata);
-            final String[] raw = serizalize(diagram);
-            ioService.write(kiePath,
-                            raw[0]);
+            serialize(diagram,
+                      kiePath);
             return Paths.convert(kiePath);
         } catch (final Exception e) {
             LOG.error("Cannot create diagram in path [" + kiePath + "]",
@@ -195,17 +196,16 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
 
     protected abstract boolean doDelete(final Path path);
 
-    protected abstract M doSave(final D diagram,
-                                final String raw,
-                                final String metadata);
+    /**
+     * Stores the diagram. Its raw data is expected to be written using
+     * {@link #serialize(Diagram, org.uberfire.java.nio.file.Path, OpenOption...)} and, if needed, its metadata
+     * serialized afterwards using {@link #serializeMetadata(Diagram)}, as marshalling the diagram can update it.
+     */
+    protected abstract M doSave(final D diagram);
 
-    @SuppressWarnings("unchecked")
     private M register(final D diagram) {
         try {
-            String[] raw = serizalize(diagram);
-            return doSave(diagram,
-                          raw[0],
-                          raw[1]);
+            return doSave(diagram);
         } catch (Exception e) {
             LOG.error("Error while saving diagram with UUID [" + diagram.getName() + "].",
                       e);
@@ -215,16 +215,44 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
 
     @SuppressWarnings("unchecked")
     protected String[] serizalize(final D diagram) throws java.io.IOException {
-        final String defSetId = diagram.getMetadata().getDefinitionSetId();
-        final DefinitionSetService services = getServiceById(defSetId);
         // Serialize using the concrete marshalling service.
-        DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> marshaller = services.getDiagramMarshaller();
+        DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> marshaller = getDiagramMarshaller(diagram);
         final String rawData = marshaller.marshall((Diagram<Graph, Metadata>) diagram);
         final Metadata metadata = diagram.getMetadata();
         final String metadataRaw = marshaller.getMetadataMarshaller().marshall(metadata);
         return new String[]{rawData, metadataRaw};
     }
 
+    /**
+     * Writes the diagram's raw data into the given path. The data is streamed by the concrete marshalling service
+     * into a bytes buffer, so no intermediate String is created. The path is only written once the marshalling
+     * succeeds, so a failure does not replace the stored diagram.
+     */
+    @SuppressWarnings("unchecked")
+    protected void serialize(final D diagram,
+                             final org.uberfire.java.nio.file.Path path,
+                             final OpenOption... options) throws java.io.IOException {
+        final DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> marshaller = getDiagramMarshaller(diagram);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        marshaller.marshall((Diagram<Graph, Metadata>) diagram,
+                            output);
+        ioService.write(path,
+                        output.toByteArray(),
+                        options);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected String serializeMetadata(final D diagram) throws java.io.IOException {
+        return getDiagramMarshaller(diagram).getMetadataMarshaller().marshall(diagram.getMetadata());
+    }
+
+    @SuppressWarnings("unchecked")
+    private DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> getDiagramMarshaller(final D diagram) {
+        final String defSetId = diagram.getMetadata().getDefinitionSetId();
+        final DefinitionSetService services = getServiceById(defSetId);
+        return services.getDiagramMarshaller();
+    }
+
     public boolean contains(final D item) {
         return null != getDiagramByPath(item.getMetadata().getPath());
     }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.lookup.impl;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.workbench.common.stunner.core.lookup.LookupManager;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.io.impl.IOServiceNio2WrapperImpl;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.*;
+
+public class AbstractVFSLookupManagerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final SimpleFileSystemProvider fs = new SimpleFileSystemProvider();
+
+    private final IOService ioService = new IOServiceNio2WrapperImpl();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private File diagrams;
+
+    private Path root;
+
+    private TestLookupManager lookupManager;
+
+    @Before
+    public void setup() throws Exception {
+        fs.forceAsDefault();
+        diagrams = folder.newFolder("diagrams");
+        root = fs.getPath(diagrams.toURI());
+        lookupManager = new TestLookupManager();
+        write("diagram1.txt",
+              "title1");
+        write("diagram2.txt",
+              "title2");
+        write("ignored.md",
+              "ignored");
+    }
+
+    @Test
+    public void testItemsAreReused() {
+        assertItems(lookupManager.getItemsByPath(root),
+                    "title1",
+                    "title2");
+        assertEquals(2,
+                     loads.get());
+
+        assertItems(lookupManager.getItemsByPath(root),
+                    "title1",
+                    "title2");
+        assertEquals(2,
+                     loads.get());
+    }
+
+    @Test
+    public void testModifiedItemsAreReloaded() {
+        lookupManager.getItemsByPath(root);
+
+        // same length and same last modified time, only the content changes
+        final File file = new File(diagrams,
+                                   "diagram1.txt");
+        final long lastModified = file.lastModified();
+        write("diagram1.txt",
+              "TITLE1");
+        assertTrue(file.setLastModified(lastModified));
+
+        assertItems(lookupManager.getItemsByPath(root),
+                    "TITLE1",
+                    "title2");
+        assertEquals(3,
+                     loads.get());
+    }
+
+    @Test
+    public void testDeletedItemsAreEvicted() {
+        lookupManager.getItemsByPath(root);
+
+        ioService.delete(root.resolve("diagram1.txt"));
+
+        assertItems(lookupManager.getItemsByPath(root),
+                    "title2");
+        assertEquals(2,
+                     loads.get());
+
+        // the evicted item is loaded again if the file is restored
+        write("diagram1.txt",
+              "title1");
+
+        assertItems(lookupManager.getItemsByPath(root),
+                    "title1",
+                    "title2");
+        assertEquals(3,
+                     loads.get());
+    }
+
+    @Test
+    public void testSiblingFolderItemsAreNotEvicted() throws Exception {
+        final File siblingDiagrams = folder.newFolder("diagrams2");
+        final Path siblingRoot = fs.getPath(siblingDiagrams.toURI());
+        ioService.write(siblingRoot.resolve("diagram3.txt"),
+                        "title3");
+
+        assertItems(lookupManager.getItemsByPath(siblingRoot),
+                    "title3");
+        lookupManager.getItemsByPath(root);
+        assertEquals(3,
+                     loads.get());
+
+        assertItems(lookupManager.getItemsByPath(siblingRoot),
+                    "title3");
+        assertEquals(3,
+                     loads.get());
+    }
+
+    private void write(final String fileName,
+                       final String content) {
+        ioService.write(root.resolve(fileName),
+                        content);
+    }
+
+    private void assertItems(final List<String> items,
+                             final String... expected) {
+        assertEquals(expected.length,
+                     items.size());
+        for (final String item : expected) {
+            assertTrue(items.contains(item));
+        }
+    }
+
+    private class TestLookupManager extends AbstractVFSLookupManager<String, String, LookupManager.LookupRequest> {
+
+        TestLookupManager() {
+            super(ioService);
+        }
+
+        @Override
+        protected boolean acceptsPath(final org.uberfire.backend.vfs.Path path) {
+            return path.getFileName().endsWith(".txt");
+        }
+
+        @Override
+        protected String getItemByPath(final org.uberfire.backend.vfs.Path path) {
+            loads.incrementAndGet();
+            return ioService.readAllString(Paths.convert(path));
+        }
+
+        @Override
+        protected List<String> getItems(final LookupManager.LookupRequest request) {
+            return getItemsByPath(root);
+        }
+
+        @Override
+        protected boolean matches(final String criteria,
+                                  final String item) {
+            return true;
+        }
+
+        @Override
+        protected String buildResult(final String item) {
+            return item;
+        }
+    }
+}
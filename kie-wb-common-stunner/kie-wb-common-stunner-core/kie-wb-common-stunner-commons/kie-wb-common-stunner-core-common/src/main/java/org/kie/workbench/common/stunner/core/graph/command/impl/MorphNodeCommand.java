@@ -81,9 +81,13 @@ public final class MorphNodeCommand extends AbstractGraphCommand {
             // Update candidate roles.
             final Set<String> newLabels = definitionManager.adapters().forDefinition().getLabels(newDef);
             candidate.getLabels().clear();
+            candidate.getLabels().add(definitionManager.adapters().forDefinition().getId(newDef));
             if (null != newLabels) {
                 candidate.getLabels().addAll(newLabels);
             }
+            // Update the node's labels in the graph's label counts and in the index.
+            getGraph(context).addNode(candidate);
+            getMutableIndex(context).addNode(candidate);
         }
         return results;
     }
@@ -16,8 +16,14 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
@@ -32,11 +38,23 @@ import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.A
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessor;
 import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 
+/**
+ * Indexes the absolute bounds of the graph's nodes into a uniform grid, so hit-testing and range queries only
+ * inspect the nodes in the grid cells involved instead of traversing the whole graph.
+ * <p>
+ * The grid is built by a single traversal of the graph on the first query after <code>build</code>,
+ * <code>setRootUUID</code> or <code>invalidate</code>. Callers that mutate the graph whilst using
+ * this index must call <code>invalidate</code> for the changes to be visible to further queries.
+ */
 @Dependent
 public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
+    // The side length of the grid cells, in canvas coordinates.
+    static final double CELL_SIZE = 128;
+
     private Graph<View, Node<View, Edge>> graph;
     private String rootUUID = null;
+    private BoundsGrid grid = null;
 
     ChildrenTraverseProcessor childrenTraverseProcessor;
 
@@ -48,6 +66,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     @Override
     public GraphBoundsIndexerImpl build(final Graph<View, Node<View, Edge>> graph) {
         this.graph = graph;
+        this.grid = null;
         return this;
     }
 
@@ -61,65 +80,96 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     @Override
     public double[] getTrimmedBounds() {
         final double[] result = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, 0, 0};
-        childrenTraverseProcessor
-                .setRootUUID(this.rootUUID)
-                .traverse(graph,
-                          new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
-
-                              @Override
-                              public void onNodeTraverse(final Node<View, Edge> node,
-                                                         final double parentX,
-                                                         final double parentY) {
-                                  final String uuid = node.getUUID();
-                                  final boolean isRoot = null != GraphBoundsIndexerImpl.this.rootUUID
-                                          && GraphBoundsIndexerImpl.this.rootUUID.equals(uuid);
-                                  if (!isRoot) {
-                                      final double[] absCoords = getNodeAbsoluteCoordinates(node,
-                                                                                            parentX,
-                                                                                            parentY);
-                                      final double x = absCoords[0];
-                                      final double y = absCoords[1];
-                                      final double w = absCoords[2];
-                                      final double h = absCoords[3];
-                                      if (x < result[0]) {
-                                          result[0] = x;
-                                      }
-                                      if (y < result[1]) {
-                                          result[1] = y;
-                                      }
-                                      if (w > result[2]) {
-                                          result[2] = w;
-                                      }
-                                      if (h > result[3]) {
-                                          result[3] = h;
-                                      }
-                                  }
-                              }
-                          }));
+        for (final NodeBounds bounds : getGrid().getEntries()) {
+            if (!isRoot(bounds.node)) {
+                if (bounds.ulX < result[0]) {
+                    result[0] = bounds.ulX;
+                }
+                if (bounds.ulY < result[1]) {
+                    result[1] = bounds.ulY;
+                }
+                if (bounds.lrX > result[2]) {
+                    result[2] = bounds.lrX;
+                }
+                if (bounds.lrY > result[3]) {
+                    result[3] = bounds.lrY;
+                }
+            }
+        }
         return result;
     }
 
+    /**
+     * Returns the top-most node at the given coordinates, that is the last one found in the graph's children
+     * traversal order. If no node is found there, the root node, if any, is returned.
+     */
     @SuppressWarnings("unchecked")
     public Node<View<?>, Edge> findElementAt(final double x,
                                              final double y) {
-        final Node[] result = new Node[1];
-        childrenTraverseProcessor.traverse(graph,
-                                           new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
-
-                                               @Override
-                                               public void onNodeTraverse(final Node<View, Edge> node,
-                                                                          final double parentX,
-                                                                          final double parentY) {
-                                                   if (isNodeAt(node,
-                                                                parentX,
-                                                                parentY,
-                                                                x,
-                                                                y)) {
-                                                       result[0] = node;
-                                                   }
-                                               }
-                                           }));
-        return result[0];
+        final NodeBounds bounds = getGrid().findAt(x,
+                                                   y);
+        if (null != bounds) {
+            return bounds.node;
+        }
+        return null != rootUUID && null != graph ? (Node) graph.getNode(rootUUID) : null;
+    }
+
+    /**
+     * Returns the nodes which bounds intersect the given area, in the graph's children traversal order.
+     */
+    public List<Node<View<?>, Edge>> findElementsIn(final double x1,
+                                                    final double y1,
+                                                    final double x2,
+                                                    final double y2) {
+        return getGrid().findIn(Math.min(x1,
+                                         x2),
+                                Math.min(y1,
+                                         y2),
+                                Math.max(x1,
+                                         x2),
+                                Math.max(y1,
+                                         y2))
+                .stream()
+                .map(bounds -> bounds.node)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Discards the indexed bounds, so they're computed again from the graph on the next query.
+     */
+    public GraphBoundsIndexerImpl invalidate() {
+        this.grid = null;
+        return this;
+    }
+
+    private BoundsGrid getGrid() {
+        if (null == grid) {
+            final BoundsGrid newGrid = new BoundsGrid();
+            if (null != graph) {
+                childrenTraverseProcessor
+                        .setRootUUID(this.rootUUID)
+                        .traverse(graph,
+                                  new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
+
+                                      @Override
+                                      @SuppressWarnings("unchecked")
+                                      public void onNodeTraverse(final Node<View, Edge> node,
+                                                                 final double parentX,
+                                                                 final double parentY) {
+                                          newGrid.add((Node) node,
+                                                      getNodeAbsoluteCoordinates(node,
+                                                                                 parentX,
+                                                                                 parentY));
+                                      }
+                                  }));
+            }
+            grid = newGrid;
+        }
+        return grid;
+    }
+
+    private boolean isRoot(final Node node) {
+        return null != rootUUID && rootUUID.equals(node.getUUID());
     }
 
     private abstract class NodeBoundsTraverseCallback {
@@ -197,31 +247,10 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         return new double[]{ulX, ulY, lrX, lrY};
     }
 
-    private boolean isNodeAt(final Node node,
-                             final double parentX,
-                             final double parentY,
-                             final double mouseX,
-                             final double mouseY) {
-        if (null != rootUUID && node.getUUID().equals(rootUUID)) {
-            return true;
-        }
-        final double[] absoluteCoords = getNodeAbsoluteCoordinates(node,
-                                                                   parentX,
-                                                                   parentY);
-        final double ulX = absoluteCoords[0];
-        final double ulY = absoluteCoords[1];
-        final double lrX = absoluteCoords[2];
-        final double lrY = absoluteCoords[3];
-        if (mouseX >= ulX && mouseX <= lrX &&
-                mouseY >= ulY && mouseY <= lrY) {
-            return true;
-        }
-        return false;
-    }
-
     @Override
     public GraphBoundsIndexer setRootUUID(final String uuid) {
         this.rootUUID = uuid;
+        this.grid = null;
         return this;
     }
 
@@ -229,6 +258,157 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     public void destroy() {
         this.graph = null;
         this.rootUUID = null;
+        this.grid = null;
         this.childrenTraverseProcessor = null;
     }
+
+    private static class NodeBounds {
+
+        private final Node<View<?>, Edge> node;
+        private final int order;
+        private final double ulX;
+        private final double ulY;
+        private final double lrX;
+        private final double lrY;
+
+        private NodeBounds(final Node<View<?>, Edge> node,
+                           final int order,
+                           final double[] coordinates) {
+            this.node = node;
+            this.order = order;
+            this.ulX = coordinates[0];
+            this.ulY = coordinates[1];
+            this.lrX = coordinates[2];
+            this.lrY = coordinates[3];
+        }
+
+        private boolean contains(final double x,
+                                 final double y) {
+            return x >= ulX && x <= lrX &&
+                    y >= ulY && y <= lrY;
+        }
+
+        private boolean intersects(final double x1,
+                                   final double y1,
+                                   final double x2,
+                                   final double y2) {
+            return ulX <= x2 && lrX >= x1 &&
+                    ulY <= y2 && lrY >= y1;
+        }
+    }
+
+    /**
+     * A uniform grid of nodes bounds. Each node is referenced by every cell its bounds overlap, apart from
+     * nodes spanning too many cells (eg: huge lanes or containers), which are checked on every query.
+     */
+    private static class BoundsGrid {
+
+        private static final int MAX_CELLS_PER_NODE = 1024;
+
+        private final List<NodeBounds> entries = new ArrayList<>();
+        private final List<NodeBounds> large = new ArrayList<>();
+        private final Map<Integer, Map<Integer, List<NodeBounds>>> cells = new HashMap<>();
+
+        private void add(final Node<View<?>, Edge> node,
+                         final double[] coordinates) {
+            final NodeBounds bounds = new NodeBounds(node,
+                                                     entries.size(),
+                                                     coordinates);
+            entries.add(bounds);
+            final int minX = cell(bounds.ulX);
+            final int minY = cell(bounds.ulY);
+            final int maxX = cell(bounds.lrX);
+            final int maxY = cell(bounds.lrY);
+            if (maxX < minX || maxY < minY || ((long) (maxX - minX + 1)) * (maxY - minY + 1) > MAX_CELLS_PER_NODE) {
+                large.add(bounds);
+                return;
+            }
+            for (int cx = minX; cx <= maxX; cx++) {
+                final Map<Integer, List<NodeBounds>> column = cells.computeIfAbsent(cx,
+                                                                                    k -> new HashMap<>());
+                for (int cy = minY; cy <= maxY; cy++) {
+                    column.computeIfAbsent(cy,
+                                           k -> new ArrayList<>()).add(bounds);
+                }
+            }
+        }
+
+        private List<NodeBounds> getEntries() {
+            return entries;
+        }
+
+        private NodeBounds findAt(final double x,
+                                  final double y) {
+            NodeBounds result = findAt(large,
+                                       x,
+                                       y,
+                                       null);
+            final Map<Integer, List<NodeBounds>> column = cells.get(cell(x));
+            if (null != column) {
+                final List<NodeBounds> candidates = column.get(cell(y));
+                if (null != candidates) {
+                    result = findAt(candidates,
+                                    x,
+                                    y,
+                                    result);
+                }
+            }
+            return result;
+        }
+
+        private NodeBounds findAt(final List<NodeBounds> candidates,
+                                  final double x,
+                                  final double y,
+                                  final NodeBounds current) {
+            NodeBounds result = current;
+            for (final NodeBounds candidate : candidates) {
+                if ((null == result || candidate.order > result.order) && candidate.contains(x,
+                                                                                              y)) {
+                    result = candidate;
+                }
+            }
+            return result;
+        }
+
+        private List<NodeBounds> findIn(final double x1,
+                                        final double y1,
+                                        final double x2,
+                                        final double y2) {
+            final int minX = cell(x1);
+            final int minY = cell(y1);
+            final int maxX = cell(x2);
+            final int maxY = cell(y2);
+            final List<NodeBounds> result;
+            if (((long) (maxX - minX + 1)) * (maxY - minY + 1) > entries.size()) {
+                // Cheaper to check every node than every cell.
+                result = new ArrayList<>(entries);
+            } else {
+                final Set<NodeBounds> candidates = new HashSet<>(large);
+                for (int cx = minX; cx <= maxX; cx++) {
+                    final Map<Integer, List<NodeBounds>> column = cells.get(cx);
+                    if (null != column) {
+                        for (int cy = minY; cy <= maxY; cy++) {
+                            final List<NodeBounds> cell = column.get(cy);
+                            if (null != cell) {
+                                candidates.addAll(cell);
+                            }
+                        }
+                    }
+                }
+                result = new ArrayList<>(candidates);
+            }
+            return result.stream()
+                    .filter(bounds -> bounds.intersects(x1,
+                                                        y1,
+                                                        x2,
+                                                        y2))
+                    .sorted((b1, b2) -> Integer.compare(b1.order,
+                                                        b2.order))
+                    .collect(Collectors.toList());
+        }
+
+        private static int cell(final double value) {
+            return (int) Math.floor(value / CELL_SIZE);
+        }
+    }
 }
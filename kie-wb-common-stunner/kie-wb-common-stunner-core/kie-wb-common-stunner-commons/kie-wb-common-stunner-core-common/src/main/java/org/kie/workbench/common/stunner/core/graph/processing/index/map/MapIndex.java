@@ -16,19 +16,37 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.index.map;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.processing.index.MutableIndex;
+import org.kie.workbench.common.stunner.core.graph.processing.index.labeled.LabeledIndex;
 
-public class MapIndex implements MutableIndex<Node, Edge> {
+/**
+ * A mutable index backed by maps. Apart from the look-ups by uuid, it keeps secondary indexes of the nodes
+ * and edges by label. As the element factories add the definition identifier to the element's labels, these
+ * are the indexes by definition identifier as well. All the updates are applied as deltas by the graph commands,
+ * so the index is not rebuilt while the graph is being edited.
+ */
+public class MapIndex implements MutableIndex<Node, Edge>,
+                                 LabeledIndex<Node, Edge> {
 
     final Graph<?, Node> graph;
     final Map<String, Node> nodes;
     final Map<String, Edge> edges;
+    private final LabelIndex<Node> nodesByLabel = new LabelIndex<>();
+    private final LabelIndex<Edge> edgesByLabel = new LabelIndex<>();
 
     public MapIndex(final Graph<?, Node> graph,
                     final Map<String, Node> nodes,
@@ -36,6 +54,8 @@ public class MapIndex implements MutableIndex<Node, Edge> {
         this.graph = graph;
         this.nodes = nodes;
         this.edges = edges;
+        nodes.values().forEach(nodesByLabel::add);
+        edges.values().forEach(edgesByLabel::add);
     }
 
     @Override
@@ -62,29 +82,55 @@ public class MapIndex implements MutableIndex<Node, Edge> {
         return edges.get(uuid);
     }
 
+    /**
+     * Returns the nodes that contain all the given labels.
+     */
+    @Override
+    public Collection<Node> findNodes(final List<String> labels) {
+        return nodesByLabel.find(labels);
+    }
+
+    /**
+     * Returns the edges that contain all the given labels.
+     */
+    @Override
+    public Collection<Edge> findEdges(final List<String> labels) {
+        return edgesByLabel.find(labels);
+    }
+
+    /**
+     * Adds the node, or updates its labels if already present.
+     */
     @Override
     public MutableIndex<Node, Edge> addNode(final Node node) {
         nodes.put(node.getUUID(),
                   node);
+        nodesByLabel.add(node);
         return this;
     }
 
     @Override
     public MutableIndex<Node, Edge> removeNode(final Node node) {
         nodes.remove(node.getUUID());
+        nodesByLabel.remove(node.getUUID());
         return this;
     }
 
+    /**
+     * Adds the edge, or updates its labels if already present.
+     */
     @Override
     public MutableIndex<Node, Edge> addEdge(final Edge edge) {
         edges.put(edge.getUUID(),
                   edge);
+        edgesByLabel.add(edge);
         return this;
     }
 
     @Override
     public MutableIndex<Node, Edge> removeEdge(final Edge edge) {
         edges.remove(edge.getUUID());
+        edgesByLabel.remove(edge.getUUID());
         return this;
     }
 
@@ -92,5 +138,79 @@ public class MapIndex implements MutableIndex<Node, Edge> {
     public void clear() {
         nodes.clear();
         edges.clear();
+        nodesByLabel.clear();
+        edgesByLabel.clear();
+    }
+
+    /**
+     * Elements by label. The labels each element was indexed with are kept, as the element labels
+     * can change afterwards (eg: when morphing a node).
+     */
+    private static class LabelIndex<T extends Element> {
+
+        private final Map<String, Map<String, T>> elementsByLabel = new HashMap<>();
+        private final Map<String, Set<String>> indexedLabels = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private void add(final T element) {
+            final String uuid = element.getUUID();
+            remove(uuid);
+            final Set<String> labels = element.getLabels();
+            if (null != labels && !labels.isEmpty()) {
+                final Set<String> snapshot = new HashSet<>(labels);
+                indexedLabels.put(uuid,
+                                  snapshot);
+                for (final String label : snapshot) {
+                    elementsByLabel.computeIfAbsent(label,
+                                                    l -> new LinkedHashMap<>())
+                            .put(uuid,
+                                 element);
+                }
+            }
+        }
+
+        private void remove(final String uuid) {
+            final Set<String> labels = indexedLabels.remove(uuid);
+            if (null != labels) {
+                for (final String label : labels) {
+                    final Map<String, T> elements = elementsByLabel.get(label);
+                    if (null != elements) {
+                        elements.remove(uuid);
+                        if (elements.isEmpty()) {
+                            elementsByLabel.remove(label);
+                        }
+                    }
+                }
+            }
+        }
+
+        private Collection<T> find(final List<String> labels) {
+            if (null == labels || labels.isEmpty()) {
+                return Collections.emptyList();
+            }
+            // Start from the label with less elements, and keep the ones that contain all the other labels.
+            Map<String, T> candidates = null;
+            for (final String label : labels) {
+                final Map<String, T> elements = elementsByLabel.get(label);
+                if (null == elements) {
+                    return Collections.emptyList();
+                }
+                if (null == candidates || elements.size() < candidates.size()) {
+                    candidates = elements;
+                }
+            }
+            final List<T> result = new ArrayList<>(candidates.size());
+            for (final Map.Entry<String, T> candidate : candidates.entrySet()) {
+                if (indexedLabels.get(candidate.getKey()).containsAll(labels)) {
+                    result.add(candidate.getValue());
+                }
+            }
+            return result;
+        }
+
+        private void clear() {
+            elementsByLabel.clear();
+            indexedLabels.clear();
+        }
     }
 }
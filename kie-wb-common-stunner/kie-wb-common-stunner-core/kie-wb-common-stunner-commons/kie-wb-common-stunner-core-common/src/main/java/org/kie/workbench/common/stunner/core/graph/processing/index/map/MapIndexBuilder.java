@@ -59,11 +59,10 @@ public class MapIndexBuilder implements GraphIndexBuilder<MapIndex> {
                                 nodes,
                                 edges);
         } else {
-            // Updating an existing index.
-            current.nodes.clear();
-            current.nodes.putAll(nodes);
-            current.edges.clear();
-            current.edges.putAll(edges);
+            // Updating an existing index, including its label indexes.
+            current.clear();
+            nodes.values().forEach(current::addNode);
+            edges.values().forEach(current::addEdge);
             return current;
         }
     }
@@ -17,26 +17,47 @@
 package org.kie.workbench.common.stunner.core.graph.store;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.kie.workbench.common.stunner.core.graph.Node;
 
+/**
+ * The default node store. Besides the nodes, it keeps the number of nodes for each label, so cardinality
+ * checks do not have to visit the whole graph. The counts are built on first use and then updated as
+ * nodes are added or removed. If the labels of a node change once it has been added, add it again so its
+ * counts get updated.
+ */
 @Portable
 public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
 
     protected Map<String, Node> nodes = new HashMap<String, Node>();
 
+    private transient Map<String, Integer> labelCounts;
+    private transient Map<String, Set<String>> countedLabels;
+
     @Override
     public Node add(final Node node) {
-        return nodes.put(node.getUUID(),
-                         node);
+        final Node previous = nodes.put(node.getUUID(),
+                                        node);
+        if (null != labelCounts) {
+            uncount(node.getUUID());
+            count(node);
+        }
+        return previous;
     }
 
     @Override
     public Node remove(final String uuid) {
-        return nodes.remove(uuid);
+        final Node removed = nodes.remove(uuid);
+        if (null != labelCounts) {
+            uncount(uuid);
+        }
+        return removed;
     }
 
     @Override
@@ -52,6 +73,75 @@ public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
     @Override
     public void clear() {
         nodes.clear();
+        labelCounts = null;
+        countedLabels = null;
+    }
+
+    /**
+     * Returns the number of nodes for the given label.
+     */
+    public int getLabelCount(final String label) {
+        final Integer count = getLabelCounts().get(label);
+        return null != count ? count : 0;
+    }
+
+    /**
+     * Returns the number of nodes for each label in use, optionally restricted to the labels in the
+     * <code>filter</code>.
+     */
+    public Map<String, Integer> getLabelsCount(final Set<String> filter) {
+        final Map<String, Integer> counts = getLabelCounts();
+        if (null == filter) {
+            return new LinkedHashMap<>(counts);
+        }
+        final Map<String, Integer> result = new LinkedHashMap<>();
+        for (final String label : filter) {
+            final Integer count = counts.get(label);
+            if (null != count) {
+                result.put(label,
+                           count);
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Integer> getLabelCounts() {
+        if (null == labelCounts) {
+            labelCounts = new HashMap<>();
+            countedLabels = new HashMap<>();
+            nodes.values().forEach(this::count);
+        }
+        return labelCounts;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void count(final Node node) {
+        final Set<String> labels = node.getLabels();
+        if (null != labels && !labels.isEmpty()) {
+            final Set<String> snapshot = new HashSet<>(labels);
+            countedLabels.put(node.getUUID(),
+                              snapshot);
+            snapshot.forEach(label -> {
+                final Integer count = labelCounts.get(label);
+                labelCounts.put(label,
+                                null != count ? count + 1 : 1);
+            });
+        }
+    }
+
+    private void uncount(final String uuid) {
+        final Set<String> labels = countedLabels.remove(uuid);
+        if (null != labels) {
+            labels.forEach(label -> {
+                final int count = labelCounts.get(label) - 1;
+                if (count > 0) {
+                    labelCounts.put(label,
+                                    count);
+                } else {
+                    labelCounts.remove(label);
+                }
+            });
+        }
     }
 
     @Override
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.util;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.Bounds;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.Magnet;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.index.GraphIndexBuilder;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
+import org.kie.workbench.common.stunner.core.util.UUID;
+
+/**
+ * Builds a graph structure in a single batch, for elements that are already known to be valid, as the ones
+ * coming from a persisted diagram.
+ * It applies the same structural changes as the graph commands (nodes, parent-child and dock relationships,
+ * connections and positions) but it does not evaluate any rule and does not keep an index up to date while
+ * building. The index is built once the structure is complete, see {@link #build(GraphIndexBuilder)}.
+ */
+public class GraphBulkBuilder {
+
+    private static Logger LOGGER = Logger.getLogger(GraphBulkBuilder.class.getName());
+
+    private final Graph<DefinitionSet, Node> graph;
+    private final long startTime;
+    private int edgeCount;
+
+    public GraphBulkBuilder(final Graph<DefinitionSet, Node> graph) {
+        this.graph = graph;
+        this.startTime = System.currentTimeMillis();
+        this.edgeCount = 0;
+    }
+
+    public Graph<DefinitionSet, Node> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Removes all nodes from the graph.
+     */
+    public GraphBulkBuilder clear() {
+        graph.clear();
+        return this;
+    }
+
+    /**
+     * Adds the node into the graph's store.
+     */
+    public GraphBulkBuilder addNode(final Node node) {
+        graph.addNode(node);
+        return this;
+    }
+
+    /**
+     * Adds the candidate node into the graph's store and creates the parent-child relationship.
+     */
+    @SuppressWarnings("unchecked")
+    public GraphBulkBuilder addChildNode(final Node parent,
+                                         final Node candidate) {
+        addNode(candidate);
+        final Edge<Child, Node> edge = new EdgeImpl<>(UUID.uuid());
+        edge.setContent(new Child());
+        connect(parent,
+                candidate,
+                edge);
+        return this;
+    }
+
+    /**
+     * Adds the candidate node into the graph's store and docks it to the parent.
+     */
+    @SuppressWarnings("unchecked")
+    public GraphBulkBuilder addDockedNode(final Node parent,
+                                          final Node candidate) {
+        addNode(candidate);
+        final Edge<Dock, Node> edge = new EdgeImpl<>(UUID.uuid());
+        edge.setContent(new Dock());
+        connect(parent,
+                candidate,
+                edge);
+        return this;
+    }
+
+    /**
+     * Sets the source node and, if present, the source magnet for the connector.
+     */
+    @SuppressWarnings("unchecked")
+    public GraphBulkBuilder setSourceNode(final Node sourceNode,
+                                          final Edge edge,
+                                          final Magnet magnet) {
+        final Node lastSourceNode = edge.getSourceNode();
+        if (null != lastSourceNode) {
+            lastSourceNode.getOutEdges().remove(edge);
+        }
+        if (null != sourceNode) {
+            sourceNode.getOutEdges().add(edge);
+        }
+        edge.setSourceNode(sourceNode);
+        if (null != magnet && edge.getContent() instanceof ViewConnector) {
+            ((ViewConnector) edge.getContent()).setSourceMagnet(magnet);
+        }
+        edgeCount++;
+        return this;
+    }
+
+    /**
+     * Sets the target node and, if present, the target magnet for the connector.
+     */
+    @SuppressWarnings("unchecked")
+    public GraphBulkBuilder setTargetNode(final Node targetNode,
+                                          final Edge edge,
+                                          final Magnet magnet) {
+        final Node lastTargetNode = edge.getTargetNode();
+        if (null != lastTargetNode) {
+            lastTargetNode.getInEdges().remove(edge);
+        }
+        if (null != targetNode) {
+            targetNode.getInEdges().add(edge);
+        }
+        edge.setTargetNode(targetNode);
+        if (null != magnet && edge.getContent() instanceof ViewConnector) {
+            ((ViewConnector) edge.getContent()).setTargetMagnet(magnet);
+        }
+        return this;
+    }
+
+    /**
+     * Moves the node to the given location, keeping its size.
+     * @return <code>false</code> if the new bounds exceed the graph's bounds, so the node has not been moved.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean updatePosition(final Node<? extends View<?>, Edge> node,
+                                  final double x,
+                                  final double y) {
+        final double[] size = GraphUtils.getNodeSize(node.getContent());
+        final Bounds bounds = new BoundsImpl(new BoundImpl(x,
+                                                           y),
+                                             new BoundImpl(x + size[0],
+                                                           y + size[1]));
+        if (!GraphUtils.checkBoundsExceeded(graph,
+                                            bounds)) {
+            return false;
+        }
+        node.getContent().setBounds(bounds);
+        return true;
+    }
+
+    /**
+     * Builds the index for the resulting graph structure.
+     * @param indexBuilder The index builder.
+     * @return The index for the graph.
+     */
+    public Index<?, ?> build(final GraphIndexBuilder<?> indexBuilder) {
+        final Index<?, ?> index = indexBuilder.build(graph);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            int nodeCount = 0;
+            for (final Node node : graph.nodes()) {
+                nodeCount++;
+            }
+            LOGGER.log(Level.FINE,
+                       "Graph [" + graph.getUUID() + "] built with " + nodeCount + " nodes and " +
+                               edgeCount + " connectors in " + (System.currentTimeMillis() - startTime) + "ms");
+        }
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void connect(final Node parent,
+                         final Node candidate,
+                         final Edge edge) {
+        edge.setSourceNode(parent);
+        edge.setTargetNode(candidate);
+        parent.getOutEdges().add(edge);
+        candidate.getInEdges().add(edge);
+    }
+}
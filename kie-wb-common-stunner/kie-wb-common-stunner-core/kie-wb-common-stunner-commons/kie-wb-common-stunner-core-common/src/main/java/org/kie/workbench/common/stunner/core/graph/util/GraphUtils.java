@@ -17,6 +17,8 @@
 package org.kie.workbench.common.stunner.core.graph.util;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +35,9 @@ import org.kie.workbench.common.stunner.core.graph.content.definition.Definition
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
 import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
+import org.kie.workbench.common.stunner.core.graph.processing.index.labeled.LabeledIndex;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
 
 public class GraphUtils {
 
@@ -106,10 +111,15 @@ public class GraphUtils {
     /**
      * Does not returns labels not being used on the graph,
      * even if included in the <code>filter</code>.
+     * Graphs backed by a {@link GraphNodeStoreImpl} answer from the store's label counts,
+     * otherwise all nodes are visited.
      */
     @SuppressWarnings("unchecked")
     public static Map<String, Integer> getLabelsCount(final Graph<?, ? extends Node> target,
                                                       final Set<String> filter) {
+        if (target.nodes() instanceof GraphNodeStoreImpl) {
+            return ((GraphNodeStoreImpl) target.nodes()).getLabelsCount(filter);
+        }
         final Map<String, Integer> labels = new LinkedHashMap<>();
         target.nodes().forEach(node -> {
             final Set<String> nodeRoles = node.getLabels();
@@ -219,6 +229,28 @@ public class GraphUtils {
         return null;
     }
 
+    /**
+     * Returns the nodes for the given definition identifier.
+     * If the index keeps the nodes by label, which include the definition identifier, the nodes are
+     * looked up on it, otherwise the graph structure is scanned.
+     * @param index The graph index.
+     * @param definitionId The Definition identifier.
+     */
+    @SuppressWarnings("unchecked")
+    public static Collection<Node> getNodesByDefinitionId(final Index<?, ?> index,
+                                                          final String definitionId) {
+        if (index instanceof LabeledIndex) {
+            return ((LabeledIndex<Node, ?>) index).findNodes(Collections.singletonList(definitionId));
+        }
+        final List<Node> result = new ArrayList<>();
+        for (final Node node : index.getGraph().nodes()) {
+            if (node.getLabels().contains(definitionId)) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
     @SuppressWarnings("unchecked")
     public static boolean hasChildren(final Node<?, ? extends Edge> element) {
         final List<? extends Edge> outEdges = element.getOutEdges();
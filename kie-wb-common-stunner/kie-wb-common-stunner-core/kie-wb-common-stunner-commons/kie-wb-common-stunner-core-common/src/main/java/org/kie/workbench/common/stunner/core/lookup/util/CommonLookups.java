@@ -17,12 +17,15 @@
 package org.kie.workbench.common.stunner.core.lookup.util;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.enterprise.context.ApplicationScoped;
@@ -61,8 +64,9 @@ import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull
  * An utils class that provides common used look-ups and other logic for querying the domain model and the rules model,
  * that is used along the application.
  * <p>
- * // TODO: Some kind of cache to avoid frequently used lookups? Consider performance and memory, this class
- * is shared on both server and client sides.
+ * The results that only depend on the Definition Set and its rules, such as the labels and morph base type of
+ * each definition or the connection rules for a source and connector, are cached per Definition Set.
+ * The cache of a Definition Set is discarded once its rule set instance changes.
  */
 @ApplicationScoped
 public class CommonLookups {
@@ -74,6 +78,7 @@ public class CommonLookups {
     private final RuleManager ruleManager;
     private final RuleLookupManager ruleLookupManager;
     private final FactoryManager factoryManager;
+    private final Map<String, DefinitionSetCache> caches = new HashMap<>();
 
     protected CommonLookups() {
         this(null,
@@ -106,12 +111,14 @@ public class CommonLookups {
         final Set<String> result = new LinkedHashSet<>();
         if (null != defSetId && null != sourceNode) {
             final T definition = sourceNode.getContent().getDefinition();
+            final RuleSet ruleSet = getRuleSet(defSetId);
             final Set<String> connectionAllowedEdges = getConnectionRulesAllowedEdges(defSetId,
+                                                                                      getCache(defSetId,
+                                                                                               ruleSet),
                                                                                       definition,
                                                                                       page,
                                                                                       pageSize);
             if (null != connectionAllowedEdges && !connectionAllowedEdges.isEmpty()) {
-                final RuleSet ruleSet = getRuleSet(defSetId);
                 connectionAllowedEdges.stream().forEach(allowedEdgeId -> {
                     final int edgeCount = countOutgoingEdges(sourceNode,
                                                              allowedEdgeId);
@@ -160,26 +167,21 @@ public class CommonLookups {
                                                              final String edgeId,
                                                              final int page,
                                                              final int pageSize) {
-        final Set<Object> allowedDefinitions = getAllowedTargetDefinitions(defSetId,
-                                                                           graph,
-                                                                           sourceNode,
-                                                                           edgeId,
-                                                                           page,
-                                                                           pageSize);
+        final Set<String> allowedDefinitions = getAllowedTargetDefinitionIds(defSetId,
+                                                                             graph,
+                                                                             sourceNode,
+                                                                             edgeId,
+                                                                             page,
+                                                                             pageSize);
         log(Level.FINEST,
             "Target definitions allowed " +
                     "for [" + sourceNode + "] and using the " +
                     "connector [" + edgeId + "] " +
                     "ARE [" + allowedDefinitions + "]");
         if (null != allowedDefinitions) {
+            final DefinitionSetCache cache = getCache(defSetId);
             final Set<String> result = new LinkedHashSet<>();
-            allowedDefinitions.stream().forEach(definition -> {
-                final String defId = getDefinitionManager().adapters().forDefinition().getId(definition);
-                final MorphDefinition morphDefinition = definitionUtils.getMorphDefinition(definition);
-                final boolean hasMorphBase = null != morphDefinition;
-                final String id = hasMorphBase ? morphDefinition.getDefault() : defId;
-                result.add(id);
-            });
+            allowedDefinitions.stream().forEach(defId -> result.add(cache.getMorphDefault(defId)));
             log(Level.FINEST,
                 "Target definitions group by morph base type allowed " +
                         "for [" + sourceNode + "] and using the " +
@@ -196,16 +198,48 @@ public class CommonLookups {
      * <p>
      * TODO: Handle several result pages.
      */
-    @SuppressWarnings("unchecked")
     public <T> Set<Object> getAllowedTargetDefinitions(final String defSetId,
                                                        final Graph<?, ? extends Node> graph,
                                                        final Node<? extends Definition<T>, ? extends Edge> sourceNode,
                                                        final String edgeId,
                                                        final int page,
                                                        final int pageSize) {
+        final Set<String> allowedDefinitions = getAllowedTargetDefinitionIds(defSetId,
+                                                                             graph,
+                                                                             sourceNode,
+                                                                             edgeId,
+                                                                             page,
+                                                                             pageSize);
+        if (null != allowedDefinitions) {
+            final Set<Object> result = new LinkedHashSet<>();
+            allowedDefinitions.forEach(defId -> {
+                final Object targetDefinition = createDefinition(defId);
+                if (null != targetDefinition) {
+                    result.add(targetDefinition);
+                }
+            });
+            return result;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the identifiers of the definitions that can be used as target node for the given source node and
+     * the given edge (connector) identifier. Rules are checked using the cached labels for each candidate
+     * definition, so no definition instances are created.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Set<String> getAllowedTargetDefinitionIds(final String defSetId,
+                                                          final Graph<?, ? extends Node> graph,
+                                                          final Node<? extends Definition<T>, ? extends Edge> sourceNode,
+                                                          final String edgeId,
+                                                          final int page,
+                                                          final int pageSize) {
         if (null != defSetId && null != graph && null != sourceNode && null != edgeId) {
             final T definition = sourceNode.getContent().getDefinition();
             final RuleSet ruleSet = getRuleSet(defSetId);
+            final DefinitionSetCache cache = getCache(defSetId,
+                                                      ruleSet);
             log(Level.FINEST,
                 "*** Checking the target definitions allowed " +
                         "for [" + definition + "] and using the " +
@@ -229,6 +263,7 @@ public class CommonLookups {
             if (oeCardinalityAllowed) {
                 // Obtain allowed target roles that pass connection rules.
                 final Set<String> allowedConnectionRoles = getConnectionRulesAllowedTargets(defSetId,
+                                                                                            cache,
                                                                                             definition,
                                                                                             edgeId,
                                                                                             page,
@@ -239,6 +274,7 @@ public class CommonLookups {
                 if (null != allowedConnectionRoles) {
                     // Obtain a first set of candidate Defintiion identifiers.
                     final Set<String> allowedDefinitions = getDefinitions(defSetId,
+                                                                          cache,
                                                                           allowedConnectionRoles);
                     log(Level.FINEST,
                         "Allowed target definitions that pass connection rules " +
@@ -248,17 +284,12 @@ public class CommonLookups {
                                                                                                allowedConnectionRoles);
                         final int inConnectorsCount = countIncomingEdges(sourceNode,
                                                                          edgeId);
-                        final Set<Object> result = new LinkedHashSet<>();
+                        final Set<String> result = new LinkedHashSet<>();
                         allowedDefinitions
                                 .stream()
                                 .forEach(defId -> {
-                                    final Object targetDefinition = createDefinition(defId);
-                                    if (null != targetDefinition) {
-                                        final Set<String> targetDefinitionRoles =
-                                                getDefinitionManager()
-                                                        .adapters()
-                                                        .forDefinition()
-                                                        .getLabels(targetDefinition);
+                                    final Set<String> targetDefinitionRoles = cache.getLabels(defId);
+                                    if (null != targetDefinitionRoles) {
                                         // Check cardinality for each of the roles for this potential target node.
                                         final boolean hasCardinalityViolations = targetDefinitionRoles
                                                 .stream()
@@ -291,7 +322,7 @@ public class CommonLookups {
                                                         "result = [" + ieCardinalityAllowed + "]");
                                             if (ieCardinalityAllowed) {
                                                 // This potential node can be used as target one, as it passes all rule checks.
-                                                result.add(targetDefinition);
+                                                result.add(defId);
                                             }
                                         }
                                     }
@@ -310,7 +341,15 @@ public class CommonLookups {
      * TODO: Handle several result pages.
      */
     private Set<String> getDefinitions(final String defSetId,
+                                       final DefinitionSetCache cache,
                                        final Set<String> labels) {
+        return cache.getDefinitions(labels,
+                                    () -> lookupDefinitions(defSetId,
+                                                            labels));
+    }
+
+    private Set<String> lookupDefinitions(final String defSetId,
+                                          final Set<String> labels) {
         if (null != labels && !labels.isEmpty()) {
             final DefinitionLookupRequest request =
                     new DefinitionLookupRequestImpl.Builder()
@@ -339,9 +378,23 @@ public class CommonLookups {
      * @oaram sourceDefinition The domain model object ( not a graph element ).
      */
     private <T> Set<String> getConnectionRulesAllowedEdges(final String defSetId,
+                                                           final DefinitionSetCache cache,
                                                            final T sourceDefinition,
                                                            final int page,
                                                            final int pageSize) {
+        return cache.getConnectionEdges(getDefinitionLabels(sourceDefinition),
+                                        page,
+                                        pageSize,
+                                        () -> lookupConnectionRulesAllowedEdges(defSetId,
+                                                                                sourceDefinition,
+                                                                                page,
+                                                                                pageSize));
+    }
+
+    private <T> Set<String> lookupConnectionRulesAllowedEdges(final String defSetId,
+                                                              final T sourceDefinition,
+                                                              final int page,
+                                                              final int pageSize) {
         final List<Rule> rules = lookupConnectionRules(defSetId,
                                                        sourceDefinition,
                                                        null,
@@ -366,10 +419,27 @@ public class CommonLookups {
      * TODO: Handle several result pages.
      */
     private <T> Set<String> getConnectionRulesAllowedTargets(final String defSetId,
+                                                             final DefinitionSetCache cache,
                                                              final T sourceDefinition,
                                                              final String edgeId,
                                                              final int page,
                                                              final int pageSize) {
+        return cache.getConnectionTargets(getDefinitionLabels(sourceDefinition),
+                                          edgeId,
+                                          page,
+                                          pageSize,
+                                          () -> lookupConnectionRulesAllowedTargets(defSetId,
+                                                                                    sourceDefinition,
+                                                                                    edgeId,
+                                                                                    page,
+                                                                                    pageSize));
+    }
+
+    private <T> Set<String> lookupConnectionRulesAllowedTargets(final String defSetId,
+                                                                final T sourceDefinition,
+                                                                final String edgeId,
+                                                                final int page,
+                                                                final int pageSize) {
         final List<Rule> rules = lookupConnectionRules(defSetId,
                                                        sourceDefinition,
                                                        edgeId,
@@ -439,10 +509,136 @@ public class CommonLookups {
     }
 
     private Object createDefinition(final String defId) {
-        // TODO: Avoid new instances here.
         return factoryManager.newDefinition(defId);
     }
 
+    private DefinitionSetCache getCache(final String defSetId) {
+        return getCache(defSetId,
+                        getRuleSet(defSetId));
+    }
+
+    private DefinitionSetCache getCache(final String defSetId,
+                                        final RuleSet ruleSet) {
+        synchronized (caches) {
+            DefinitionSetCache cache = caches.get(defSetId);
+            if (null == cache || cache.ruleSet != ruleSet) {
+                cache = new DefinitionSetCache(ruleSet);
+                caches.put(defSetId,
+                           cache);
+            }
+            return cache;
+        }
+    }
+
+    private static String toKey(final Set<String> labels,
+                                final String edgeId,
+                                final int page,
+                                final int pageSize) {
+        return (null != labels ? new TreeSet<>(labels).toString() : "") + "|" + edgeId + "|" + page + "|" + pageSize;
+    }
+
+    /**
+     * Lookup results for a Definition Set, valid as long as its rule set instance does not change.
+     */
+    private class DefinitionSetCache {
+
+        private final RuleSet ruleSet;
+        private final Map<String, Set<String>> labelsById = new HashMap<>();
+        private final Map<String, String> morphDefaultById = new HashMap<>();
+        private final Map<String, Set<String>> definitionsByLabels = new HashMap<>();
+        private final Map<String, Set<String>> connectionTargets = new HashMap<>();
+        private final Map<String, Set<String>> connectionEdges = new HashMap<>();
+
+        private DefinitionSetCache(final RuleSet ruleSet) {
+            this.ruleSet = ruleSet;
+        }
+
+        /**
+         * Returns the labels for the given definition, or <code>null</code> if no definition can be created for it.
+         */
+        private synchronized Set<String> getLabels(final String defId) {
+            if (!labelsById.containsKey(defId)) {
+                load(defId);
+            }
+            return labelsById.get(defId);
+        }
+
+        /**
+         * Returns the default definition identifier for the morph base type of the given definition, or the given
+         * definition identifier if it does not morph.
+         */
+        private synchronized String getMorphDefault(final String defId) {
+            if (!morphDefaultById.containsKey(defId)) {
+                load(defId);
+            }
+            final String morphDefault = morphDefaultById.get(defId);
+            return null != morphDefault ? morphDefault : defId;
+        }
+
+        private synchronized Set<String> getDefinitions(final Set<String> labels,
+                                                        final Supplier<Set<String>> lookup) {
+            return get(definitionsByLabels,
+                       toKey(labels,
+                             null,
+                             0,
+                             0),
+                       lookup);
+        }
+
+        private synchronized Set<String> getConnectionTargets(final Set<String> sourceLabels,
+                                                              final String edgeId,
+                                                              final int page,
+                                                              final int pageSize,
+                                                              final Supplier<Set<String>> lookup) {
+            return get(connectionTargets,
+                       toKey(sourceLabels,
+                             edgeId,
+                             page,
+                             pageSize),
+                       lookup);
+        }
+
+        private synchronized Set<String> getConnectionEdges(final Set<String> sourceLabels,
+                                                            final int page,
+                                                            final int pageSize,
+                                                            final Supplier<Set<String>> lookup) {
+            return get(connectionEdges,
+                       toKey(sourceLabels,
+                             null,
+                             page,
+                             pageSize),
+                       lookup);
+        }
+
+        private void load(final String defId) {
+            final Object definition = createDefinition(defId);
+            if (null != definition) {
+                final Set<String> labels = getDefinitionLabels(definition);
+                labelsById.put(defId,
+                               null != labels ? Collections.unmodifiableSet(new HashSet<>(labels)) : Collections.emptySet());
+                final MorphDefinition morphDefinition = definitionUtils.getMorphDefinition(definition);
+                morphDefaultById.put(defId,
+                                     null != morphDefinition ? morphDefinition.getDefault() : defId);
+            } else {
+                labelsById.put(defId,
+                               null);
+                morphDefaultById.put(defId,
+                                     defId);
+            }
+        }
+
+        private Set<String> get(final Map<String, Set<String>> cache,
+                                final String key,
+                                final Supplier<Set<String>> lookup) {
+            if (!cache.containsKey(key)) {
+                final Set<String> result = lookup.get();
+                cache.put(key,
+                          null != result ? Collections.unmodifiableSet(result) : null);
+            }
+            return cache.get(key);
+        }
+    }
+
     private DefinitionManager getDefinitionManager() {
         return definitionUtils.getDefinitionManager();
     }
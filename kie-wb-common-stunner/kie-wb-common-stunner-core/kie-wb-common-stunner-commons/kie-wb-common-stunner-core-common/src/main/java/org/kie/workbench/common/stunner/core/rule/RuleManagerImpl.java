@@ -16,10 +16,15 @@
 
 package org.kie.workbench.common.stunner.core.rule;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Optional;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
@@ -32,12 +37,30 @@ import org.kie.workbench.common.stunner.core.rule.violations.DefaultRuleViolatio
 
 import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
 
+/**
+ * The default rule manager.
+ * Rule sets are compiled on first use: the rules get indexed by their type, so an evaluation only visits the
+ * rules that some handler for the context's type is able to evaluate, instead of matching every rule
+ * against every handler. Rule sets without rules, as the ones created for each command execution context that
+ * does not check rules, share a single compiled instance and are not cached.
+ */
 @ApplicationScoped
 public class RuleManagerImpl implements RuleManager {
 
     private static Logger LOGGER = Logger.getLogger(RuleManagerImpl.class.getName());
+    private static final int COMPILED_RULE_SETS_SIZE = 16;
+    private static final CompiledRuleSet EMPTY_RULE_SET = new CompiledRuleSet(Collections.<Rule>emptyList());
 
     private final RuleHandlerRegistry registry;
+    private final Map<RuleSet, CompiledRuleSet> compiledRuleSets =
+            new LinkedHashMap<RuleSet, CompiledRuleSet>(COMPILED_RULE_SETS_SIZE,
+                                                        0.75f,
+                                                        true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<RuleSet, CompiledRuleSet> eldest) {
+                    return size() > COMPILED_RULE_SETS_SIZE;
+                }
+            };
 
     protected RuleManagerImpl() {
         this(null);
@@ -64,19 +87,24 @@ public class RuleManagerImpl implements RuleManager {
             - Otherwise return the rule violations produced by the handlers or extensions
          */
         final DefaultRuleViolations results = new DefaultRuleViolations();
-        final boolean hasRules = ruleSet.getRules().iterator().hasNext();
-        if (hasRules) {
-            final boolean[] hasEvaluations = {false};
-            ruleSet.getRules().forEach(rule -> {
-                final Optional<RuleViolations> violations = evaluate(rule,
-                                                                     context);
-                if (violations.isPresent()) {
-                    hasEvaluations[0] = true;
-                    LOGGER.info("Rule Evaluation [" + rule + ", " + violations + "]");
-                    results.addViolations(violations.get());
+        final CompiledRuleSet compiled = compile(ruleSet);
+        if (!compiled.isEmpty()) {
+            boolean hasEvaluations = false;
+            final Collection<RuleEvaluationHandler> handlers = registry.getHandlersByContext(context.getType());
+            if (null != handlers && !handlers.isEmpty()) {
+                for (final Rule rule : compiled.getRules(handlers)) {
+                    hasEvaluations |= evaluateRule(rule,
+                                                   context,
+                                                   handlers,
+                                                   results);
                 }
-            });
-            if (!hasEvaluations[0] && context.isDefaultDeny()) {
+            }
+            for (final RuleExtension rule : compiled.getExtensions()) {
+                hasEvaluations |= evaluateExtension(rule,
+                                                    context,
+                                                    results);
+            }
+            if (!hasEvaluations && context.isDefaultDeny()) {
                 return getDefaultViolationForContext(context);
             }
         }
@@ -94,64 +122,74 @@ public class RuleManagerImpl implements RuleManager {
         return registry;
     }
 
-    private Optional<RuleViolations> evaluate(final Rule rule,
-                                              final RuleEvaluationContext context) {
-        if (rule instanceof RuleExtension) {
-            return evaluateExtension((RuleExtension) rule,
-                                     context);
+    private CompiledRuleSet compile(final RuleSet ruleSet) {
+        final Iterable<Rule> rules = ruleSet.getRules();
+        if (null == rules || !rules.iterator().hasNext()) {
+            return EMPTY_RULE_SET;
+        }
+        synchronized (compiledRuleSets) {
+            CompiledRuleSet compiled = compiledRuleSets.get(ruleSet);
+            if (null == compiled || !compiled.isCompiledFrom(rules)) {
+                compiled = new CompiledRuleSet(rules);
+                compiledRuleSets.put(ruleSet,
+                                     compiled);
+            }
+            return compiled;
         }
-        return evaluateRule(rule,
-                            context);
     }
 
-    @SuppressWarnings("unchecked")
-    private Optional<RuleViolations> evaluateRule(final Rule rule,
-                                                  final RuleEvaluationContext context) {
-        checkNotNull("rule",
-                     rule);
-        checkNotNull("context",
-                     context);
-        final Collection<RuleEvaluationHandler> handlers = getHandler(rule,
-                                                                      context);
-        final DefaultRuleViolations results = new DefaultRuleViolations();
-        if (!handlers.isEmpty()) {
-            handlers.forEach(h -> results.addViolations(h.evaluate(rule,
-                                                                   context)));
-            return Optional.of(results);
+    int getCompiledRuleSetsCount() {
+        synchronized (compiledRuleSets) {
+            return compiledRuleSets.size();
         }
-        return Optional.empty();
     }
 
+    /**
+     * Evaluates the rule using the handlers that accept it, if any.
+     * @return <code>true</code> if some handler evaluated the rule.
+     */
     @SuppressWarnings("unchecked")
-    private Optional<RuleViolations> evaluateExtension(final RuleExtension rule,
-                                                       final RuleEvaluationContext context) {
-        checkNotNull("rule",
-                     rule);
-        checkNotNull("context",
-                     context);
-        final Optional<RuleExtensionHandler> handler = getExtensionHandler(rule,
-                                                                           context);
-        return handler.isPresent() ? Optional.of(handler.get().evaluate(rule,
-                                                                        context)) : Optional.empty();
-    }
-
-    private Collection<RuleEvaluationHandler> getHandler(final Rule rule,
-                                                         final RuleEvaluationContext context) {
-        final Collection<RuleEvaluationHandler> handlers = registry.getHandlersByContext(context.getType());
-        return handlers.stream()
-                .filter(h -> accepts(h,
-                                     rule,
-                                     context))
-                .collect(Collectors.toList());
+    private boolean evaluateRule(final Rule rule,
+                                 final RuleEvaluationContext context,
+                                 final Collection<RuleEvaluationHandler> handlers,
+                                 final DefaultRuleViolations results) {
+        boolean evaluated = false;
+        for (final RuleEvaluationHandler handler : handlers) {
+            if (accepts(handler,
+                        rule,
+                        context)) {
+                final RuleViolations violations = handler.evaluate(rule,
+                                                                   context);
+                log(rule,
+                    violations);
+                results.addViolations(violations);
+                evaluated = true;
+            }
+        }
+        return evaluated;
     }
 
-    private Optional<RuleExtensionHandler> getExtensionHandler(final RuleExtension rule,
-                                                               final RuleEvaluationContext context) {
+    /**
+     * Evaluates the rule extension using its handler, if it accepts the rule.
+     * @return <code>true</code> if the handler evaluated the rule.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean evaluateExtension(final RuleExtension rule,
+                                      final RuleEvaluationContext context,
+                                      final DefaultRuleViolations results) {
         final RuleExtensionHandler handler = registry.getExtensionHandler(rule.getHandlerType());
-        return null != handler
+        if (null != handler
                 && accepts(handler,
                            rule,
-                           context) ? Optional.of(handler) : Optional.empty();
+                           context)) {
+            final RuleViolations violations = handler.evaluate(rule,
+                                                               context);
+            log(rule,
+                violations);
+            results.addViolations(violations);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -172,4 +210,94 @@ public class RuleManagerImpl implements RuleManager {
                 && handler.accepts(rule,
                                    context);
     }
+
+    private static void log(final Rule rule,
+                            final RuleViolations violations) {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Rule Evaluation [" + rule + ", " + violations + "]");
+        }
+    }
+
+    /**
+     * The rules of a rule set, indexed by rule type. Rule extensions are kept apart, as these
+     * are evaluated by their own handlers whatever the context type is.
+     */
+    private static class CompiledRuleSet {
+
+        private final Iterable<Rule> source;
+        private final int size;
+        private final List<Rule> rules = new ArrayList<>();
+        private final Map<Class<?>, List<Rule>> rulesByType = new HashMap<>();
+        private final List<RuleExtension> extensions = new ArrayList<>();
+
+        private CompiledRuleSet(final Iterable<Rule> source) {
+            this.source = source;
+            int count = 0;
+            if (null != source) {
+                for (final Rule rule : source) {
+                    count++;
+                    if (rule instanceof RuleExtension) {
+                        extensions.add((RuleExtension) rule);
+                    } else if (null != rule) {
+                        rules.add(rule);
+                        List<Rule> typeRules = rulesByType.get(rule.getClass());
+                        if (null == typeRules) {
+                            typeRules = new ArrayList<>();
+                            rulesByType.put(rule.getClass(),
+                                            typeRules);
+                        }
+                        typeRules.add(rule);
+                    }
+                }
+            }
+            this.size = count;
+        }
+
+        /**
+         * Rule sets are not expected to change once built, but being collection based just
+         * check the rules have not been replaced or resized since compiled.
+         */
+        private boolean isCompiledFrom(final Iterable<Rule> rules) {
+            return source == rules
+                    && (!(rules instanceof Collection) || ((Collection) rules).size() == size);
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private List<RuleExtension> getExtensions() {
+            return extensions;
+        }
+
+        /**
+         * Returns the rules, in the rule set's order, of any of the types the given handlers evaluate.
+         */
+        private List<Rule> getRules(final Collection<RuleEvaluationHandler> handlers) {
+            Class<?> ruleType = null;
+            boolean singleType = true;
+            for (final RuleEvaluationHandler handler : handlers) {
+                if (null == ruleType) {
+                    ruleType = handler.getRuleType();
+                } else if (!ruleType.equals(handler.getRuleType())) {
+                    singleType = false;
+                    break;
+                }
+            }
+            if (singleType) {
+                final List<Rule> typeRules = rulesByType.get(ruleType);
+                return null != typeRules ? typeRules : Collections.emptyList();
+            }
+            final List<Rule> result = new ArrayList<>();
+            for (final Rule rule : rules) {
+                for (final RuleEvaluationHandler handler : handlers) {
+                    if (handler.getRuleType().equals(rule.getClass())) {
+                        result.add(rule);
+                        break;
+                    }
+                }
+            }
+            return result;
+        }
+    }
 }
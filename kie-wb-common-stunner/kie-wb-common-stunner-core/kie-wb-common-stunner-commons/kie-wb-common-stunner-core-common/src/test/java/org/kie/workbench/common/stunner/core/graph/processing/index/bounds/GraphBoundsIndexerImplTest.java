@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessorImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GraphBoundsIndexerImplTest {
+
+    private TestingGraphMockHandler graphTestHandler;
+    private GraphBoundsIndexerImpl tested;
+    private Node parentNode;
+    private Node childNode;
+    private Node otherNode;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.graphTestHandler = new TestingGraphMockHandler();
+        this.parentNode = graphTestHandler.newViewNode("parent",
+                                                       Optional.empty(),
+                                                       100,
+                                                       100,
+                                                       400,
+                                                       400);
+        this.childNode = graphTestHandler.newViewNode("child",
+                                                      Optional.empty(),
+                                                      10,
+                                                      10,
+                                                      100,
+                                                      100);
+        this.otherNode = graphTestHandler.newViewNode("other",
+                                                      Optional.empty(),
+                                                      1000,
+                                                      1000,
+                                                      50,
+                                                      50);
+        graphTestHandler.setChild(parentNode,
+                                  childNode);
+        this.tested = new GraphBoundsIndexerImpl(new ChildrenTraverseProcessorImpl(new TreeWalkTraverseProcessorImpl()));
+        tested.build((Graph<View, Node<View, Edge>>) (Graph) graphTestHandler.graph);
+    }
+
+    @Test
+    public void testGetAt() {
+        assertEquals(childNode,
+                     tested.getAt(150,
+                                  150));
+        assertEquals(parentNode,
+                     tested.getAt(400,
+                                  400));
+        assertEquals(otherNode,
+                     tested.getAt(1020,
+                                  1020));
+        assertNull(tested.getAt(800,
+                                800));
+    }
+
+    @Test
+    public void testGetAtFallsBackToRoot() {
+        tested.setRootUUID(parentNode.getUUID());
+        assertEquals(childNode,
+                     tested.getAt(150,
+                                  150));
+        assertEquals(parentNode,
+                     tested.getAt(400,
+                                  400));
+    }
+
+    @Test
+    public void testFindElementsIn() {
+        final List<Node<View<?>, Edge>> result = tested.findElementsIn(0,
+                                                                       0,
+                                                                       150,
+                                                                       150);
+        assertEquals(2,
+                     result.size());
+        assertEquals(parentNode,
+                     result.get(0));
+        assertEquals(childNode,
+                     result.get(1));
+        assertTrue(tested.findElementsIn(600,
+                                         600,
+                                         900,
+                                         900).isEmpty());
+    }
+
+    @Test
+    public void testGetTrimmedBounds() {
+        final double[] bounds = tested.getTrimmedBounds();
+        assertEquals(100,
+                     bounds[0],
+                     0d);
+        assertEquals(100,
+                     bounds[1],
+                     0d);
+        assertEquals(1050,
+                     bounds[2],
+                     0d);
+        assertEquals(1050,
+                     bounds[3],
+                     0d);
+    }
+
+    @Test
+    public void testInvalidate() {
+        assertNull(tested.getAt(2020,
+                                2020));
+        graphTestHandler.newViewNode("added",
+                                     Optional.empty(),
+                                     2000,
+                                     2000,
+                                     50,
+                                     50);
+        assertNull(tested.getAt(2020,
+                                2020));
+        tested.invalidate();
+        assertEquals("added",
+                     tested.getAt(2020,
+                                  2020).getUUID());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.map;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.TestingGraphInstanceBuilder;
+import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MapIndexTest {
+
+    private TestingGraphMockHandler graphTestHandler;
+    private MapIndexBuilder builder;
+
+    @Before
+    public void setup() {
+        this.graphTestHandler = new TestingGraphMockHandler();
+        this.builder = new MapIndexBuilder();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBuild() {
+        final TestingGraphInstanceBuilder.TestGraph2 result =
+                TestingGraphInstanceBuilder.newGraph2(graphTestHandler);
+        final MapIndex index = builder.build((Graph) result.graph);
+
+        assertEquals(result.startNode,
+                     index.getNode(result.startNode.getUUID()));
+        assertEquals(result.startNode,
+                     index.get(result.startNode.getUUID()));
+        assertEquals(result.edge1,
+                     index.getEdge(result.edge1.getUUID()));
+        assertEquals(result.edge1,
+                     index.get(result.edge1.getUUID()));
+        assertNull(index.get("unknown"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAddAndRemove() {
+        final TestingGraphInstanceBuilder.TestGraph2 result =
+                TestingGraphInstanceBuilder.newGraph2(graphTestHandler);
+        final MapIndex index = builder.build((Graph) result.graph);
+
+        index.removeNode(result.startNode);
+        index.removeEdge(result.edge1);
+        assertNull(index.getNode(result.startNode.getUUID()));
+        assertNull(index.getEdge(result.edge1.getUUID()));
+
+        index.addNode(result.startNode);
+        index.addEdge(result.edge1);
+        assertEquals(result.startNode,
+                     index.getNode(result.startNode.getUUID()));
+        assertEquals(result.edge1,
+                     index.getEdge(result.edge1.getUUID()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUpdate() {
+        final Node node1 = graphTestHandler.newNode("node1",
+                                                    "def1",
+                                                    Optional.empty());
+        final MapIndex index = builder.build((Graph) graphTestHandler.graph);
+        graphTestHandler.graph.removeNode(node1.getUUID());
+        final Node node2 = graphTestHandler.newNode("node2",
+                                                    "def2",
+                                                    Optional.empty());
+
+        builder.update(index,
+                       (Graph) graphTestHandler.graph);
+
+        assertNull(index.getNode("node1"));
+        assertEquals(node2,
+                     index.getNode("node2"));
+        assertTrue(index.findNodes(Collections.singletonList("def1")).isEmpty());
+        assertEquals(Collections.singletonList(node2),
+                     index.findNodes(Collections.singletonList("def2")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFindNodes() {
+        final TestingGraphInstanceBuilder.TestGraph2 result =
+                TestingGraphInstanceBuilder.newGraph2(graphTestHandler);
+        final MapIndex index = builder.build((Graph) result.graph);
+
+        final Collection<Node> byDefinitionId = index.findNodes(Collections.singletonList(TestingGraphInstanceBuilder.DEF1_ID));
+        assertEquals(1,
+                     byDefinitionId.size());
+        assertTrue(byDefinitionId.contains(result.startNode));
+        final Collection<Node> byLabels = index.findNodes(Arrays.asList(TestingGraphInstanceBuilder.DEF1_ID,
+                                                                        "label1"));
+        assertEquals(byDefinitionId.size(),
+                     byLabels.size());
+        assertTrue(byLabels.contains(result.startNode));
+        assertTrue(index.findNodes(Arrays.asList(TestingGraphInstanceBuilder.DEF1_ID,
+                                                 "label2")).isEmpty());
+        assertTrue(index.findNodes(Collections.singletonList("unknown")).isEmpty());
+        assertTrue(index.findEdges(Collections.singletonList(TestingGraphInstanceBuilder.EDGE1_ID)).contains(result.edge1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFindNodesAfterChanges() {
+        final TestingGraphInstanceBuilder.TestGraph2 result =
+                TestingGraphInstanceBuilder.newGraph2(graphTestHandler);
+        final MapIndex index = builder.build((Graph) result.graph);
+
+        index.removeNode(result.startNode);
+        assertTrue(index.findNodes(Collections.singletonList(TestingGraphInstanceBuilder.DEF1_ID)).isEmpty());
+
+        // Labels are re-indexed when the node is added again, eg: after morphing it.
+        result.startNode.getLabels().clear();
+        result.startNode.getLabels().add("morphed");
+        index.addNode(result.startNode);
+        assertTrue(index.findNodes(Collections.singletonList(TestingGraphInstanceBuilder.DEF1_ID)).isEmpty());
+        assertTrue(index.findNodes(Collections.singletonList("morphed")).contains(result.startNode));
+
+        index.clear();
+        assertTrue(index.findNodes(Collections.singletonList("morphed")).isEmpty());
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.util;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
+import org.kie.workbench.common.stunner.core.graph.content.view.Magnet;
+import org.kie.workbench.common.stunner.core.graph.content.view.MagnetImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
+import org.kie.workbench.common.stunner.core.graph.processing.index.map.MapIndexBuilder;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GraphBulkBuilderTest {
+
+    private TestingGraphMockHandler graphTestHandler;
+    private GraphBulkBuilder tested;
+    private Node parent;
+    private Node child;
+    private Node docked;
+    private Node target;
+    private Edge edge;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.graphTestHandler = new TestingGraphMockHandler();
+        this.parent = graphTestHandler.newNode("parent",
+                                               Optional.empty());
+        this.child = graphTestHandler.newNode("child",
+                                              Optional.empty());
+        this.docked = graphTestHandler.newNode("docked",
+                                               Optional.empty());
+        this.target = graphTestHandler.newNode("target",
+                                               Optional.empty());
+        this.edge = graphTestHandler.newEdge("edge",
+                                             Optional.empty());
+        this.tested = new GraphBulkBuilder(graphTestHandler.graph).clear();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBuildStructure() {
+        final Magnet sourceMagnet = MagnetImpl.Builder.build(Magnet.MagnetType.OUTGOING);
+        final Magnet targetMagnet = MagnetImpl.Builder.build(Magnet.MagnetType.INCOMING);
+        tested.addNode(parent)
+                .addChildNode(parent,
+                              child)
+                .addDockedNode(child,
+                               docked)
+                .addNode(target)
+                .setSourceNode(docked,
+                               edge,
+                               sourceMagnet)
+                .setTargetNode(target,
+                               edge,
+                               targetMagnet);
+        assertEquals(parent,
+                     graphTestHandler.graph.getNode("parent"));
+        assertEquals(child,
+                     graphTestHandler.graph.getNode("child"));
+        assertEquals(docked,
+                     graphTestHandler.graph.getNode("docked"));
+        assertEquals(target,
+                     graphTestHandler.graph.getNode("target"));
+        assertEquals(1,
+                     parent.getOutEdges().size());
+        final Edge childEdge = (Edge) parent.getOutEdges().get(0);
+        assertTrue(childEdge.getContent() instanceof Child);
+        assertEquals(child,
+                     childEdge.getTargetNode());
+        assertTrue(child.getInEdges().contains(childEdge));
+        final Edge dockEdge = (Edge) child.getOutEdges().get(0);
+        assertTrue(dockEdge.getContent() instanceof Dock);
+        assertEquals(docked,
+                     dockEdge.getTargetNode());
+        assertEquals(docked,
+                     edge.getSourceNode());
+        assertEquals(target,
+                     edge.getTargetNode());
+        assertTrue(docked.getOutEdges().contains(edge));
+        assertTrue(target.getInEdges().contains(edge));
+        final ViewConnector connector = (ViewConnector) edge.getContent();
+        assertEquals(sourceMagnet,
+                     connector.getSourceMagnet().get());
+        assertEquals(targetMagnet,
+                     connector.getTargetMagnet().get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBuildIndex() {
+        tested.addNode(parent)
+                .addChildNode(parent,
+                              child)
+                .setSourceNode(child,
+                               edge,
+                               null);
+        final Index<?, ?> index = tested.build(new MapIndexBuilder());
+        assertEquals(parent,
+                     index.getNode("parent"));
+        assertEquals(child,
+                     index.getNode("child"));
+        assertEquals(edge,
+                     index.getEdge("edge"));
+        assertEquals(parent.getOutEdges().get(0),
+                     index.getEdge(((Edge) parent.getOutEdges().get(0)).getUUID()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUpdatePosition() {
+        tested.addNode(child);
+        final double[] size = GraphUtils.getNodeSize((View) child.getContent());
+        assertTrue(tested.updatePosition(child,
+                                         10d,
+                                         20d));
+        assertEquals(10d,
+                     ((View) child.getContent()).getBounds().getUpperLeft().getX(),
+                     0d);
+        assertEquals(20d,
+                     ((View) child.getContent()).getBounds().getUpperLeft().getY(),
+                     0d);
+        assertArrayEquals(size,
+                          GraphUtils.getNodeSize((View) child.getContent()),
+                          0d);
+        assertFalse(tested.updatePosition(child,
+                                          Double.MAX_VALUE,
+                                          Double.MAX_VALUE));
+        assertEquals(10d,
+                     ((View) child.getContent()).getBounds().getUpperLeft().getX(),
+                     0d);
+    }
+}
@@ -16,11 +16,16 @@
 
 package org.kie.workbench.common.stunner.core.graph.util;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.TestingGraphInstanceBuilder;
 import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
+import org.kie.workbench.common.stunner.core.graph.Node;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.*;
@@ -48,4 +53,30 @@ public class GraphUtilsTest {
         boolean hasChildren = GraphUtils.hasChildren(graphInstance.startNode);
         assertFalse(hasChildren);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getLabelsCountTest() {
+        Map<String, Integer> count = GraphUtils.getLabelsCount(graphInstance.graph,
+                                                               null);
+        assertEquals(1,
+                     count.get(TestingGraphInstanceBuilder.DEF1_ID).intValue());
+        assertEquals(1,
+                     count.get("label1").intValue());
+        final Node node = graphTestHandler.newNode("node5",
+                                                   TestingGraphInstanceBuilder.DEF1_ID,
+                                                   Optional.of(TestingGraphInstanceBuilder.DEF1_LABELS));
+        count = GraphUtils.getLabelsCount(graphInstance.graph,
+                                          Collections.singleton("label1"));
+        assertEquals(1,
+                     count.size());
+        assertEquals(2,
+                     count.get("label1").intValue());
+        graphInstance.graph.removeNode(graphInstance.startNode.getUUID());
+        node.getLabels().remove("label1");
+        graphInstance.graph.addNode(node);
+        count = GraphUtils.getLabelsCount(graphInstance.graph,
+                                          Collections.singleton("label1"));
+        assertTrue(count.isEmpty());
+    }
 }
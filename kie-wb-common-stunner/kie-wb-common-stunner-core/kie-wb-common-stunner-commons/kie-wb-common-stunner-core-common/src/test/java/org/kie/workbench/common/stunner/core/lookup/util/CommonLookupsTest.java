@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.lookup.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
+import org.kie.workbench.common.stunner.core.definition.morph.MorphDefinition;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.lookup.LookupResponseImpl;
+import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionLookupManager;
+import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionLookupRequest;
+import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionRepresentation;
+import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionRepresentationImpl;
+import org.kie.workbench.common.stunner.core.lookup.rule.RuleLookupManager;
+import org.kie.workbench.common.stunner.core.lookup.rule.RuleLookupRequest;
+import org.kie.workbench.common.stunner.core.rule.Rule;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.kie.workbench.common.stunner.core.rule.impl.CanConnect;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CommonLookupsTest {
+
+    private static final String DEF_SET_ID = TestingGraphMockHandler.DEF_SET_ID;
+    private static final String SOURCE_ID = "sourceDef";
+    private static final String EDGE_ID = "edgeDef";
+    private static final String DEF1_ID = "def1";
+    private static final String DEF2_ID = "def2";
+    private static final String DEF1_MORPH_DEFAULT = "def1MorphDefault";
+    private static final Set<String> SOURCE_LABELS = Collections.singleton("sourceLabel");
+    private static final Set<String> TARGET_LABELS = Collections.singleton("targetLabel");
+
+    @Mock
+    private DefinitionLookupManager definitionLookupManager;
+
+    @Mock
+    private RuleLookupManager ruleLookupManager;
+
+    @Mock
+    private MorphDefinition def1MorphDefinition;
+
+    private TestingGraphMockHandler graphTestHandler;
+    private Object definitionSet;
+    private Object def1;
+    private Object def2;
+    private Node sourceNode;
+    private CommonLookups tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.graphTestHandler = new TestingGraphMockHandler();
+        this.definitionSet = new Object();
+        when(graphTestHandler.definitionSetRegistry.getDefinitionSetById(DEF_SET_ID)).thenReturn(definitionSet);
+        when(graphTestHandler.adapterRegistry.getDefinitionSetRuleAdapter(any(Class.class))).thenReturn(graphTestHandler.ruleAdapter);
+        when(graphTestHandler.ruleAdapter.getRuleSet(definitionSet)).thenReturn(graphTestHandler.ruleSet);
+        final List<Rule> rules =
+                Collections.singletonList(new CanConnect("canConnect",
+                                                         EDGE_ID,
+                                                         Collections.singletonList(new CanConnect.PermittedConnection("sourceLabel",
+                                                                                                                      "targetLabel"))));
+        when(ruleLookupManager.lookup(any(RuleLookupRequest.class))).thenReturn(new LookupResponseImpl<>(rules,
+                                                                                                           rules.size(),
+                                                                                                           false,
+                                                                                                           null,
+                                                                                                           0,
+                                                                                                           10));
+        final List<DefinitionRepresentation> representations =
+                Arrays.asList(new DefinitionRepresentationImpl(DEF1_ID,
+                                                               true,
+                                                               TARGET_LABELS),
+                              new DefinitionRepresentationImpl(DEF2_ID,
+                                                               true,
+                                                               TARGET_LABELS));
+        when(definitionLookupManager.lookup(any(DefinitionLookupRequest.class))).thenReturn(new LookupResponseImpl<>(representations,
+                                                                                                                     representations.size(),
+                                                                                                                     false,
+                                                                                                                     null,
+                                                                                                                     0,
+                                                                                                                     100));
+        this.def1 = graphTestHandler.newDef(DEF1_ID,
+                                            Optional.of(TARGET_LABELS));
+        this.def2 = graphTestHandler.newDef(DEF2_ID,
+                                            Optional.of(TARGET_LABELS));
+        when(graphTestHandler.factoryManager.newDefinition(DEF1_ID)).thenReturn(def1);
+        when(graphTestHandler.factoryManager.newDefinition(DEF2_ID)).thenReturn(def2);
+        when(def1MorphDefinition.getDefault()).thenReturn(DEF1_MORPH_DEFAULT);
+        when(graphTestHandler.definitionUtils.getMorphDefinition(def1)).thenReturn(def1MorphDefinition);
+        this.sourceNode = graphTestHandler.newNode("source",
+                                                   SOURCE_ID,
+                                                   Optional.of(SOURCE_LABELS));
+        this.tested = new CommonLookups(graphTestHandler.definitionUtils,
+                                        graphTestHandler.ruleManager,
+                                        definitionLookupManager,
+                                        ruleLookupManager,
+                                        graphTestHandler.factoryManager);
+    }
+
+    @Test
+    public void testGetAllowedMorphDefaultDefinitions() {
+        final Set<String> result = getAllowedMorphDefaultDefinitions();
+        assertEquals(new HashSet<>(Arrays.asList(DEF1_MORPH_DEFAULT,
+                                                 DEF2_ID)),
+                     result);
+        verify(graphTestHandler.factoryManager,
+               times(1)).newDefinition(DEF1_ID);
+        verify(graphTestHandler.factoryManager,
+               times(1)).newDefinition(DEF2_ID);
+    }
+
+    @Test
+    public void testLookupsAreCachedAcrossCalls() {
+        final Set<String> result1 = getAllowedMorphDefaultDefinitions();
+        final Set<String> result2 = getAllowedMorphDefaultDefinitions();
+        assertEquals(result1,
+                     result2);
+        verify(ruleLookupManager,
+               times(1)).lookup(any(RuleLookupRequest.class));
+        verify(definitionLookupManager,
+               times(1)).lookup(any(DefinitionLookupRequest.class));
+        verify(graphTestHandler.factoryManager,
+               times(1)).newDefinition(DEF1_ID);
+        verify(graphTestHandler.factoryManager,
+               times(1)).newDefinition(DEF2_ID);
+    }
+
+    @Test
+    public void testCacheIsDiscardedWhenRuleSetChanges() {
+        getAllowedMorphDefaultDefinitions();
+        final RuleSet newRuleSet = mock(RuleSet.class);
+        when(graphTestHandler.ruleAdapter.getRuleSet(definitionSet)).thenReturn(newRuleSet);
+        final Set<String> result = getAllowedMorphDefaultDefinitions();
+        assertEquals(new HashSet<>(Arrays.asList(DEF1_MORPH_DEFAULT,
+                                                 DEF2_ID)),
+                     result);
+        verify(ruleLookupManager,
+               times(2)).lookup(any(RuleLookupRequest.class));
+        verify(definitionLookupManager,
+               times(2)).lookup(any(DefinitionLookupRequest.class));
+        verify(graphTestHandler.factoryManager,
+               times(2)).newDefinition(DEF1_ID);
+        verify(graphTestHandler.factoryManager,
+               times(2)).newDefinition(DEF2_ID);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetAllowedTargetDefinitions() {
+        final Set<Object> result = tested.getAllowedTargetDefinitions(DEF_SET_ID,
+                                                                      graphTestHandler.graph,
+                                                                      sourceNode,
+                                                                      EDGE_ID,
+                                                                      0,
+                                                                      10);
+        assertNotNull(result);
+        assertEquals(2,
+                     result.size());
+        assertTrue(result.contains(def1));
+        assertTrue(result.contains(def2));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> getAllowedMorphDefaultDefinitions() {
+        return tested.getAllowedMorphDefaultDefinitions(DEF_SET_ID,
+                                                        graphTestHandler.graph,
+                                                        sourceNode,
+                                                        EDGE_ID,
+                                                        0,
+                                                        10);
+    }
+}
@@ -33,6 +33,7 @@ import org.kie.workbench.common.stunner.core.rule.context.impl.RuleContextBuilde
 import org.kie.workbench.common.stunner.core.rule.ext.RuleExtension;
 import org.kie.workbench.common.stunner.core.rule.ext.RuleExtensionHandler;
 import org.kie.workbench.common.stunner.core.rule.impl.CanContain;
+import org.kie.workbench.common.stunner.core.rule.impl.CanDock;
 import org.kie.workbench.common.stunner.core.rule.violations.ContextOperationNotAllowedViolation;
 import org.kie.workbench.common.stunner.core.rule.violations.DefaultRuleViolations;
 import org.kie.workbench.common.stunner.core.rule.violations.RuleViolationImpl;
@@ -260,4 +261,62 @@ public class RuleManagerImplTest {
         assertTrue(violations.contains(ruleViolation2));
         assertTrue(violations.contains(ruleViolation3));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEvaluateOnlyRulesOfHandledTypes() {
+        final Rule dockRule = new CanDock("d1",
+                                          "d1-role",
+                                          Collections.singleton("role1"));
+        final List<Rule> rules = new ArrayList<Rule>(2) {{
+            add(dockRule);
+            add(rule1);
+        }};
+        final RuleSet dockingRuleSet = new RuleSetImpl("rs2",
+                                                       rules);
+        when(handler1.accepts(eq(rule1),
+                              eq(ruleEvaluationContext))).thenReturn(true);
+        when(handler1.evaluate(eq(rule1),
+                               eq(ruleEvaluationContext))).thenReturn(ruleViolations1);
+        RuleViolations result = tested.evaluate(dockingRuleSet,
+                                                ruleEvaluationContext);
+        Collection<RuleViolation> violations = (Collection<RuleViolation>) result.violations();
+        assertEquals(1,
+                     violations.size());
+        assertTrue(violations.contains(ruleViolation1));
+        verify(handler1,
+               never()).accepts(eq(dockRule),
+                                any(RuleEvaluationContext.class));
+        // Rules added to the rule set once compiled are considered as well.
+        rules.add(rule2);
+        when(handler2.accepts(eq(rule2),
+                              eq(ruleEvaluationContext))).thenReturn(true);
+        when(handler2.evaluate(eq(rule2),
+                               eq(ruleEvaluationContext))).thenReturn(ruleViolations2);
+        result = tested.evaluate(dockingRuleSet,
+                                 ruleEvaluationContext);
+        violations = (Collection<RuleViolation>) result.violations();
+        assertEquals(2,
+                     violations.size());
+        assertTrue(violations.contains(ruleViolation2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEmptyRuleSetsAreNotCached() {
+        when(registry.getExtensionHandler(any(Class.class))).thenReturn(null);
+        when(handler1.accepts(eq(rule1),
+                              eq(ruleEvaluationContext))).thenReturn(true);
+        when(handler1.evaluate(eq(rule1),
+                               eq(ruleEvaluationContext))).thenReturn(ruleViolations1);
+        tested.evaluate(ruleSet,
+                        ruleEvaluationContext);
+        for (int i = 0; i < 20; i++) {
+            final RuleViolations result = tested.evaluate(new EmptyRuleSet(),
+                                                          ruleEvaluationContext);
+            assertFalse(result.violations().iterator().hasNext());
+        }
+        assertEquals(1,
+                     tested.getCompiledRuleSetsCount());
+    }
 }
@@ -142,9 +142,7 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
     }
 
     @Override
-    protected ProjectMetadata doSave(final ProjectDiagram diagram,
-                                     final String raw,
-                                     final String metadata) {
+    protected ProjectMetadata doSave(final ProjectDiagram diagram) {
         try {
             Path _path = diagram.getMetadata().getPath();
             org.uberfire.java.nio.file.Path path = Paths.convert(_path);
@@ -153,8 +151,8 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
                 final String fileName = path.getFileName().toString();
                 path = parent.resolve(fileName);
             }
-            getIoService().write(path,
-                                 raw);
+            serialize(diagram,
+                      path);
         } catch (Exception e) {
             LOG.error("Error while saving diagram with UUID [" + diagram.getName() + "].",
                       e);
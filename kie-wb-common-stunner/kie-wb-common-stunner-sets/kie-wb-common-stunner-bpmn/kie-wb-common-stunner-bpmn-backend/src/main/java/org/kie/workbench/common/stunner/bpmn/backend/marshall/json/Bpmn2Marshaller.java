@@ -17,11 +17,12 @@
 package org.kie.workbench.common.stunner.bpmn.backend.marshall.json;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 
 import bpsim.impl.BpsimFactoryImpl;
-import org.apache.commons.lang3.StringEscapeUtils;
 import org.jboss.drools.impl.DroolsFactoryImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.Bpmn2JsonUnmarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceImpl;
@@ -45,15 +46,27 @@ public class Bpmn2Marshaller extends Bpmn2JsonUnmarshaller {
     }
 
     public String marshall(final Diagram<Graph, Metadata> diagram) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        marshall(diagram,
+                 outputStream);
+        return outputStream.toString("UTF-8");
+    }
+
+    /**
+     * Writes the BPMN2 document for the diagram to the given stream, UTF-8 encoded.
+     * The document is unescaped while it is being saved, rather than once saved as a whole.
+     */
+    public void marshall(final Diagram<Graph, Metadata> diagram,
+                         final OutputStream outputStream) throws IOException {
         DroolsFactoryImpl.init();
         BpsimFactoryImpl.init();
         BPMN2JsonParser parser = createParser(diagram);
         JBPMBpmn2ResourceImpl res = (JBPMBpmn2ResourceImpl) super.unmarshall(parser,
                                                                              null);
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        res.save(outputStream,
+        Html4UnescapingOutputStream unescapingStream = new Html4UnescapingOutputStream(new NonClosingOutputStream(outputStream));
+        res.save(unescapingStream,
                  new HashMap<>());
-        return StringEscapeUtils.unescapeHtml4(outputStream.toString("UTF-8"));
+        unescapingStream.close();
     }
 
     private BPMN2JsonParser createParser(final Diagram<Graph, Metadata> diagram) {
@@ -61,4 +74,28 @@ public class Bpmn2Marshaller extends Bpmn2JsonUnmarshaller {
                                    new ParsingContext(definitionManager,
                                                       oryxManager));
     }
-}
\ No newline at end of file
+
+    /**
+     * The caller owns the target stream, so it's flushed but not closed once the document is written.
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] b,
+                          final int off,
+                          final int len) throws IOException {
+            out.write(b,
+                      off,
+                      len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
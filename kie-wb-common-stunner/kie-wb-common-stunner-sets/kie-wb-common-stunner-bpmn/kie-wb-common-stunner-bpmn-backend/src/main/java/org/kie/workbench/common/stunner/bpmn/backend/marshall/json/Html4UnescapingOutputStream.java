@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.marshall.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+
+/**
+ * An output stream for UTF-8 encoded text that unescapes HTML 4 entities on the fly, as
+ * {@link StringEscapeUtils#unescapeHtml4(String)} does for a whole document, and writes the resulting text as
+ * UTF-8 to the target stream. It avoids keeping the escaped and the unescaped documents in memory at once.
+ */
+class Html4UnescapingOutputStream extends OutputStream {
+
+    // Longer than any named or numeric HTML 4 entity, longer candidates are written as they are.
+    private static final int MAX_ENTITY_LENGTH = 32;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder entity = new StringBuilder(MAX_ENTITY_LENGTH);
+    private final Writer writer;
+    private boolean closed = false;
+
+    Html4UnescapingOutputStream(final OutputStream target) {
+        this.writer = new OutputStreamWriter(target,
+                                             StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[]{(byte) b},
+              0,
+              1);
+    }
+
+    @Override
+    public void write(final byte[] b,
+                      final int off,
+                      final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            final int n = Math.min(bytes.remaining(),
+                                   remaining);
+            bytes.put(b,
+                      offset,
+                      n);
+            offset += n;
+            remaining -= n;
+            decode(false);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            decode(true);
+            decoder.flush(chars);
+            drainChars();
+            writeEntity();
+            writer.close();
+        }
+    }
+
+    private void decode(final boolean endOfInput) throws IOException {
+        bytes.flip();
+        while (true) {
+            final CoderResult result = decoder.decode(bytes,
+                                                      chars,
+                                                      endOfInput);
+            drainChars();
+            if (result.isUnderflow()) {
+                break;
+            }
+        }
+        bytes.compact();
+    }
+
+    private void drainChars() throws IOException {
+        chars.flip();
+        while (chars.hasRemaining()) {
+            unescape(chars.get());
+        }
+        chars.clear();
+    }
+
+    private void unescape(final char c) throws IOException {
+        if (entity.length() == 0) {
+            if (c == '&') {
+                entity.append(c);
+            } else {
+                writer.write(c);
+            }
+        } else if (c == ';') {
+            entity.append(c);
+            writeEntity();
+        } else if (isEntityChar(c) && entity.length() < MAX_ENTITY_LENGTH) {
+            entity.append(c);
+        } else {
+            writeEntity();
+            unescape(c);
+        }
+    }
+
+    private void writeEntity() throws IOException {
+        if (entity.length() > 0) {
+            writer.write(StringEscapeUtils.unescapeHtml4(entity.toString()));
+            entity.setLength(0);
+        }
+    }
+
+    private static boolean isEntityChar(final char c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '#';
+    }
+}
@@ -18,16 +18,11 @@ package org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder;
 
 import org.kie.workbench.common.stunner.bpmn.definition.BPMNDefinition;
 import org.kie.workbench.common.stunner.core.api.FactoryManager;
-import org.kie.workbench.common.stunner.core.command.CommandResult;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Node;
-import org.kie.workbench.common.stunner.core.graph.command.impl.AddNodeCommand;
-import org.kie.workbench.common.stunner.core.graph.command.impl.SetConnectionTargetNodeCommand;
 import org.kie.workbench.common.stunner.core.graph.content.view.Magnet;
 import org.kie.workbench.common.stunner.core.graph.content.view.MagnetImpl;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
-import org.kie.workbench.common.stunner.core.graph.processing.index.MutableIndex;
-import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 
 // TODO: Improve error handling.
 public abstract class AbstractEdgeBuilder<W, T extends Edge<View<W>, Node>>
@@ -53,8 +48,6 @@ public abstract class AbstractEdgeBuilder<W, T extends Edge<View<W>, Node>>
                                                  definitionId);
         setProperties(context,
                       (BPMNDefinition) result.getContent().getDefinition());
-        addEdgeIntoIndex(context,
-                         result);
         afterEdgeBuild(context,
                        result);
         return result;
@@ -72,9 +65,9 @@ public abstract class AbstractEdgeBuilder<W, T extends Edge<View<W>, Node>>
                     throw new RuntimeException("No edge for " + outgoingNodeId);
                 }
                 Node node = (Node) outgoingNodeBuilder.build(context);
-                // Command - Add the node into the graph store.
-                AddNodeCommand addNodeCommand = context.getCommandFactory().addNode(node);
-                // Command - Set the edge connection's target node.
+                // Add the node into the graph store.
+                context.getGraphBuilder().addNode(node);
+                // Set the edge connection's target node.
                 Double targetDocker[] = null;
                 if (dockers != null && dockers.size() > 1) {
                     targetDocker = dockers.get(dockers.size() - 1);
@@ -86,29 +79,13 @@ public abstract class AbstractEdgeBuilder<W, T extends Edge<View<W>, Node>>
                 } else {
                     targetMagnet = MagnetImpl.Builder.build(Magnet.MagnetType.INCOMING);
                 }
-
-                SetConnectionTargetNodeCommand setTargetNodeCommand = context.getCommandFactory().setTargetNode(node,
-                                                                                                                edge,
-                                                                                                                targetMagnet);
-                CommandResult<RuleViolation> results1 = context.execute(addNodeCommand);
-                if (hasErrors(results1)) {
-                    throw new RuntimeException("Error building BPMN graph. Command 'addNodeCommand' execution failed.");
-                }
-                CommandResult<RuleViolation> results2 = context.execute(setTargetNodeCommand);
-                if (hasErrors(results2)) {
-                    throw new RuntimeException("Error building BPMN graph. Command 'SetConnectionTargetNodeCommand' execution failed.");
-                }
+                context.getGraphBuilder().setTargetNode(node,
+                                                        edge,
+                                                        targetMagnet);
             }
         }
     }
 
-    @SuppressWarnings("unchecked")
-    protected void addEdgeIntoIndex(final BuilderContext context,
-                                    final T edge) {
-        MutableIndex<Node, Edge> index = (MutableIndex<Node, Edge>) context.getIndex();
-        index.addEdge(edge);
-    }
-
     @Override
     public String toString() {
         return new StringBuilder(super.toString()).append(" [defClass=").append(definitionClass.getName()).append("] ").toString();
@@ -20,7 +20,9 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Stack;
 
 import org.codehaus.jackson.Base64Variant;
@@ -52,15 +54,20 @@ import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.processing.index.GraphIndexBuilder;
 import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
+import org.kie.workbench.common.stunner.core.graph.util.GraphBulkBuilder;
 import org.kie.workbench.common.stunner.core.rule.RuleManager;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.kie.workbench.common.stunner.core.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Support for a basic single process hierarchy
  */
 public class BPMNGraphGenerator extends JsonGenerator {
 
+    private static final Logger LOG = LoggerFactory.getLogger(BPMNGraphGenerator.class);
+
     private final GraphObjectBuilderFactory bpmnGraphBuilderFactory;
     private final DefinitionManager definitionManager;
     private final FactoryManager factoryManager;
@@ -74,6 +81,7 @@ public class BPMNGraphGenerator extends JsonGenerator {
     private final Stack<GraphObjectBuilder> nodeBuilders = new Stack<>();
     private final Stack<GraphObjectParser> parsers = new Stack<GraphObjectParser>();
     private final Collection<GraphObjectBuilder<?, ?>> builders = new LinkedList<GraphObjectBuilder<?, ?>>();
+    private final Map<String, GraphObjectBuilder<?, ?>> buildersById = new HashMap<String, GraphObjectBuilder<?, ?>>();
     Graph<DefinitionSet, Node> graph;
     boolean isClosed;
 
@@ -156,13 +164,15 @@ public class BPMNGraphGenerator extends JsonGenerator {
                 .init(graph)
                 // Clears the nodes present, if any, on the recently new graph instance for BPMN. This generator
                 // provides the adf for the complete graph structure and nodes.
-                .execute(builderContext.getCommandFactory().clearGraph());
+                .getGraphBuilder().clear();
         NodeObjectBuilder diagramBuilder = getDiagramBuilder(builderContext);
         if (diagramBuilder == null) {
             throw new RuntimeException("No diagrams found!");
         }
         Node<View<BPMNDefinition>, Edge> diagramNode = (Node<View<BPMNDefinition>, Edge>) diagramBuilder.build(builderContext);
         graph.addNode(diagramNode);
+        // The elements have been added in bulk, index the resulting graph structure just once.
+        builderContext.updateIndex();
         this.isClosed = true;
     }
 
@@ -189,15 +199,23 @@ public class BPMNGraphGenerator extends JsonGenerator {
         return this.graph;
     }
 
-    final GraphObjectBuilder.BuilderContext builderContext = new GraphObjectBuilder.BuilderContext() {
+    final BulkBuilderContext builderContext = new BulkBuilderContext();
+
+    /**
+     * Builds the elements into the graph in a single batch, no rules are evaluated as the
+     * legacy jbpm designer marshallers already provide a valid structure.
+     */
+    final class BulkBuilderContext implements GraphObjectBuilder.BuilderContext {
 
         Graph<DefinitionSet, Node> graph;
+        GraphBulkBuilder graphBuilder;
         Index<?, ?> index;
 
         @Override
         public GraphObjectBuilder.BuilderContext init(final Graph<DefinitionSet, Node> graph) {
             this.graph = graph;
-            this.index = indexBuilder.build(graph);
+            this.graphBuilder = new GraphBulkBuilder(graph);
+            this.index = null;
             return this;
         }
 
@@ -206,11 +224,21 @@ public class BPMNGraphGenerator extends JsonGenerator {
             return index;
         }
 
+        @Override
+        public GraphBulkBuilder getGraphBuilder() {
+            return graphBuilder;
+        }
+
         @Override
         public Collection<GraphObjectBuilder<?, ?>> getBuilders() {
             return builders;
         }
 
+        @Override
+        public GraphObjectBuilder<?, ?> getBuilder(final String nodeId) {
+            return buildersById.get(nodeId);
+        }
+
         @Override
         public DefinitionManager getDefinitionManager() {
             return definitionManager;
@@ -226,8 +254,10 @@ public class BPMNGraphGenerator extends JsonGenerator {
             return oryxManager;
         }
 
-        @SuppressWarnings("unchecked")
+        @Override
         public CommandResult<RuleViolation> execute(final Command<GraphCommandExecutionContext, RuleViolation> command) {
+            // Commands rely on the index, bring it up to date with the elements added in bulk.
+            updateIndex();
             GraphCommandExecutionContext executionContext =
                     new EmptyRulesCommandExecutionContext(definitionManager,
                                                           factoryManager,
@@ -237,16 +267,39 @@ public class BPMNGraphGenerator extends JsonGenerator {
                                           command);
         }
 
+        @Override
         public GraphCommandFactory getCommandFactory() {
             return commandFactory;
         }
-    };
+
+        @SuppressWarnings("unchecked")
+        void updateIndex() {
+            if (null == index) {
+                index = graphBuilder.build(indexBuilder);
+            } else {
+                ((GraphIndexBuilder) indexBuilder).update(index,
+                                                          graph);
+            }
+        }
+    }
+
+    private void addBuilder(final GraphObjectBuilder<?, ?> builder) {
+        builders.add(builder);
+        // Outgoing and child references are resolved by identifier, keep the first builder for each one.
+        final String nodeId = ((AbstractObjectBuilder<?, ?>) builder).nodeId;
+        if (null != nodeId && !buildersById.containsKey(nodeId)) {
+            buildersById.put(nodeId,
+                             builder);
+        }
+    }
 
     // For local testing...
     private void logBuilders() {
-        log("Logging builders at close time...");
-        for (GraphObjectBuilder<?, ?> builder : builders) {
-            log(builder.toString());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Logging builders at close time...");
+            for (GraphObjectBuilder<?, ?> builder : builders) {
+                LOG.debug(builder.toString());
+            }
         }
     }
 
@@ -310,7 +363,7 @@ public class BPMNGraphGenerator extends JsonGenerator {
         @Override
         public void writeEndObject() {
             GraphObjectBuilder builder = nodeBuilders.pop();
-            builders.add(builder);
+            addBuilder(builder);
             parsers.pop();
         }
 
@@ -587,10 +640,6 @@ public class BPMNGraphGenerator extends JsonGenerator {
         }
     }
 
-    private void log(final String message) {
-        System.out.println(message);
-    }
-
     /***********************************************************************************
      * NOT IMPLEMENTED METHODS.
      ***********************************************************************************/
@@ -31,6 +31,7 @@ import org.kie.workbench.common.stunner.core.graph.command.impl.GraphCommandFact
 import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
+import org.kie.workbench.common.stunner.core.graph.util.GraphBulkBuilder;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 
 public interface GraphObjectBuilder<W, T extends Element<View<W>>> {
@@ -61,8 +62,12 @@ public interface GraphObjectBuilder<W, T extends Element<View<W>>> {
 
         Index<?, ?> getIndex();
 
+        GraphBulkBuilder getGraphBuilder();
+
         Collection<GraphObjectBuilder<?, ?>> getBuilders();
 
+        GraphObjectBuilder<?, ?> getBuilder(final String nodeId);
+
         DefinitionManager getDefinitionManager();
 
         FactoryManager getFactoryManager();
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.marshall.json;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class Html4UnescapingOutputStreamTest {
+
+    private static final String DOCUMENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<bpmn2:process name=\"caf&eacute; &amp; t&#233;\" id=\"&#x41;&#66;\">" +
+            "<![CDATA[if (a &lt; b &amp;&amp; c &gt; d) { x = \"&quot;\"; }]]>" +
+            "&unknown; &amp &#12 & && &;; &aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa; " +
+            "é中😀 &euro;&nbsp;&#128512;</bpmn2:process>&amp;";
+
+    @Test
+    public void testSameAsWholeDocumentUnescape() throws Exception {
+        assertEquals(StringEscapeUtils.unescapeHtml4(DOCUMENT),
+                     unescape(DOCUMENT,
+                              Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testChunkedWrites() throws Exception {
+        final String expected = StringEscapeUtils.unescapeHtml4(DOCUMENT);
+        for (int chunkSize = 1; chunkSize < 8; chunkSize++) {
+            assertEquals(expected,
+                         unescape(DOCUMENT,
+                                  chunkSize));
+        }
+    }
+
+    private static String unescape(final String document,
+                                   final int chunkSize) throws Exception {
+        final byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final Html4UnescapingOutputStream stream = new Html4UnescapingOutputStream(target);
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            stream.write(bytes,
+                         i,
+                         Math.min(chunkSize,
+                                  bytes.length - i));
+        }
+        stream.close();
+        return new String(target.toByteArray(),
+                          StandardCharsets.UTF_8);
+    }
+}
@@ -17,6 +17,7 @@
 package org.kie.workbench.common.stunner.bpmn.backend.service.diagram;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -1351,6 +1352,26 @@ public class BPMNDiagramMarshallerTest {
                       2);
     }
 
+    @Test
+    public void testMarshallToStream() throws Exception {
+        Diagram<Graph, Metadata> diagram = unmarshall(BPMN_EVALUATION);
+        String expected = tested.marshall(diagram);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        tested.marshall(diagram,
+                        outputStream);
+        String result = outputStream.toString("UTF-8");
+        assertEquals(expected,
+                     result);
+        assertDiagram(result,
+                      1,
+                      7,
+                      7);
+        // The streamed document can be read back.
+        Diagram<Graph, Metadata> roundTrip = unmarshall(new ByteArrayInputStream(outputStream.toByteArray()));
+        assertEquals(diagram.getMetadata().getTitle(),
+                     roundTrip.getMetadata().getTitle());
+    }
+
     @Test
     public void testMarshallEvaluation() throws Exception {
         Diagram<Graph, Metadata> diagram = unmarshall(BPMN_EVALUATION);
@@ -19,7 +19,6 @@ package org.kie.workbench.common.stunner.bpmn.client.forms.fields.assignmentsEdi
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import javax.enterprise.context.Dependent;
@@ -54,9 +53,13 @@ import org.kie.workbench.common.stunner.bpmn.definition.property.dataio.DataIOMo
 import org.kie.workbench.common.stunner.bpmn.definition.property.variables.ProcessVariables;
 import org.kie.workbench.common.stunner.bpmn.service.DataTypesService;
 import org.kie.workbench.common.stunner.core.client.api.SessionManager;
-import org.kie.workbench.common.stunner.core.diagram.Diagram;
-import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvas;
+import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
+import org.kie.workbench.common.stunner.core.client.session.ClientSession;
+import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
+import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.uberfire.workbench.events.NotificationEvent;
 
 @Dependent
@@ -264,10 +267,9 @@ public class AssignmentsEditorWidget extends Composite implements HasValue<Strin
     }
 
     protected String getProcessVariables() {
-        Diagram diagram = canvasSessionManager.getCurrentSession().getCanvasHandler().getDiagram();
-        Iterator<Element> it = diagram.getGraph().nodes().iterator();
-        while (it.hasNext()) {
-            Element element = it.next();
+        ClientSession<AbstractCanvas, AbstractCanvasHandler> session = canvasSessionManager.getCurrentSession();
+        for (Node element : GraphUtils.getNodesByDefinitionId(session.getCanvasHandler().getGraphIndex(),
+                                                              BindableAdapterUtils.getDefinitionId(BPMNDiagramImpl.class))) {
             if (element.getContent() instanceof View) {
                 Object oDefinition = ((View) element.getContent()).getDefinition();
                 if (oDefinition instanceof BPMNDiagramImpl) {
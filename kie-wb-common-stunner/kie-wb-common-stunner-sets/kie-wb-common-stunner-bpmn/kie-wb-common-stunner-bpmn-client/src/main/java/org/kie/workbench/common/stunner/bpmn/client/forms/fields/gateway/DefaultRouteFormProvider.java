@@ -16,7 +16,6 @@
 
 package org.kie.workbench.common.stunner.bpmn.client.forms.fields.gateway;
 
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -36,12 +35,15 @@ import org.kie.workbench.common.stunner.bpmn.definition.BaseTask;
 import org.kie.workbench.common.stunner.bpmn.definition.ExclusiveDatabasedGateway;
 import org.kie.workbench.common.stunner.bpmn.definition.SequenceFlow;
 import org.kie.workbench.common.stunner.core.client.api.SessionManager;
-import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvas;
+import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
+import org.kie.workbench.common.stunner.core.client.session.ClientSession;
+import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.graph.Edge;
-import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 
 @Dependent
 public class DefaultRouteFormProvider implements SelectorDataProvider {
@@ -124,16 +126,15 @@ public class DefaultRouteFormProvider implements SelectorDataProvider {
     }
 
     protected Node getExclusiveDatabasedGatewayNode(ExclusiveDatabasedGateway gateway) {
-        Diagram diagram = canvasSessionManager.getCurrentSession().getCanvasHandler().getDiagram();
-        Iterator<Element> it = diagram.getGraph().nodes().iterator();
-        while (it.hasNext()) {
-            Element element = it.next();
+        ClientSession<AbstractCanvas, AbstractCanvasHandler> session = canvasSessionManager.getCurrentSession();
+        for (Node element : GraphUtils.getNodesByDefinitionId(session.getCanvasHandler().getGraphIndex(),
+                                                              BindableAdapterUtils.getDefinitionId(ExclusiveDatabasedGateway.class))) {
             if (element.getContent() instanceof View) {
                 Object oDefinition = ((View) element.getContent()).getDefinition();
                 if (oDefinition instanceof ExclusiveDatabasedGateway) {
                     ExclusiveDatabasedGateway elementGateway = (ExclusiveDatabasedGateway) oDefinition;
                     if (elementGateway.getId() == gateway.getId()) {
-                        return (Node) element;
+                        return element;
                     }
                 }
             }